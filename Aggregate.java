@@ -0,0 +1,160 @@
+package englishNumbers;
+
+import java.io.PrintStream;
+import java.math.BigInteger;
+
+/**
+ * Count, sum, minimum, maximum and histogram of
+ * parsed values, folded in one at a time so that
+ * the values themselves are never kept.
+ * <p>
+ * Not thread-safe: each worker keeps its own and
+ * they are {@link #merge(Aggregate) merged} at the end.
+ * <p>
+ * The histogram has one bucket for zero and one
+ * for each power of two of magnitude, for each sign:
+ * bucket k of a sign holds values v with
+ * 2^k &lt;= |v| &lt; 2^(k+1).
+ *
+ */
+class Aggregate {
+    /** Buckets per sign; |value| is below 2^30 */
+    private static final int MAGNITUDES = 31;
+
+    /** Lines seen */
+    private long lines = 0;
+    /** Lines that could not be parsed */
+    private long errors = 0;
+    /** Sum of values, less whatever overflowed into sumOverflow */
+    private long sum = 0;
+    /** Sum of values that did not fit in sum */
+    private BigInteger sumOverflow = BigInteger.ZERO;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    /** Counts of negative values, by magnitude */
+    private final long[] negative = new long[MAGNITUDES];
+    /** Count of zeros */
+    private long zeros = 0;
+    /** Counts of positive values, by magnitude */
+    private final long[] positive = new long[MAGNITUDES];
+
+    /**
+     * Adds a parsed value.
+     *
+     * @param value the value of a line
+     */
+    void add(int value){
+        lines++;
+        addToSum(value);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        if (value > 0){
+            positive[magnitude(value)]++;
+        } else if (value < 0){
+            negative[magnitude(-(long) value)]++;
+        } else {
+            zeros++;
+        }
+    }
+
+    /** Counts a line that could not be parsed */
+    void addError(){
+        lines++;
+        errors++;
+    }
+
+    /**
+     * Adds everything another aggregate has
+     * seen to this one.
+     *
+     * @param other the aggregate to add
+     */
+    void merge(Aggregate other){
+        lines += other.lines;
+        errors += other.errors;
+        addToSum(other.sum);
+        sumOverflow = sumOverflow.add(other.sumOverflow);
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        zeros += other.zeros;
+        for (int i = 0; i < MAGNITUDES; i++){
+            negative[i] += other.negative[i];
+            positive[i] += other.positive[i];
+        }
+    }
+
+    /** Number of values added */
+    long getCount(){
+        return lines - errors;
+    }
+
+    /** Number of lines that could not be parsed */
+    long getErrors(){
+        return errors;
+    }
+
+    /** Sum of the values added */
+    BigInteger getSum(){
+        return sumOverflow.add(BigInteger.valueOf(sum));
+    }
+
+    /** Smallest value added, or Integer.MAX_VALUE if none */
+    int getMin(){
+        return min;
+    }
+
+    /** Largest value added, or Integer.MIN_VALUE if none */
+    int getMax(){
+        return max;
+    }
+
+    /**
+     * Writes a summary of the values.
+     *
+     * @param output where to write it
+     */
+    void print(PrintStream output){
+        output.println("lines: " + lines);
+        output.println("parsed: " + getCount());
+        output.println("errors: " + errors);
+        output.println("sum: " + getSum());
+        if (getCount() > 0){
+            output.println("min: " + min);
+            output.println("max: " + max);
+        }
+
+        output.println("histogram:");
+        for (int k = MAGNITUDES - 1; k >= 0; k--){
+            printBucket(output, -((1L << (k + 1)) - 1), -(1L << k), negative[k]);
+        }
+        printBucket(output, 0, 0, zeros);
+        for (int k = 0; k < MAGNITUDES; k++){
+            printBucket(output, 1L << k, (1L << (k + 1)) - 1, positive[k]);
+        }
+    }
+
+    private static void printBucket(PrintStream output, long from, long to, long count){
+        if (count > 0){
+            output.println("  " + from + ".." + to + ": " + count);
+        }
+    }
+
+    /** Adds to the sum, spilling into sumOverflow rather than overflowing */
+    private void addToSum(long value){
+        long result = sum + value;
+        if (((sum ^ result) & (value ^ result)) < 0){
+            // Signs say it overflowed
+            sumOverflow = sumOverflow.add(BigInteger.valueOf(sum));
+            result = value;
+        }
+        sum = result;
+    }
+
+    /** Which power-of-two bucket a positive magnitude falls in */
+    private static int magnitude(long value){
+        return 63 - Long.numberOfLeadingZeros(value);
+    }
+}
@@ -0,0 +1,84 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class AggregateTest {
+
+	@Test
+	public void testAdd() {
+		Aggregate a = new Aggregate();
+		int[] values = {1, -5, 0, 326, 999999999, -999999999, 2005};
+		for (int v : values){
+			a.add(v);
+		}
+		a.addError();
+
+		assertEquals(7, a.getCount());
+		assertEquals(1, a.getErrors());
+		assertEquals(BigInteger.valueOf(2327), a.getSum());
+		assertEquals(-999999999, a.getMin());
+		assertEquals(999999999, a.getMax());
+	}
+
+	@Test
+	public void testSumDoesNotOverflow() {
+		Aggregate a = new Aggregate();
+		a.add(999999999);
+		// Double the sum until it is well past a long
+		for (int i = 0; i < 40; i++){
+			Aggregate doubled = new Aggregate();
+			doubled.merge(a);
+			doubled.merge(a);
+			a = doubled;
+		}
+
+		BigInteger expected = BigInteger.valueOf(999999999).shiftLeft(40);
+		assertTrue("Test should overflow a long", expected.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) > 0);
+		assertEquals(expected, a.getSum());
+		assertEquals(1L << 40, a.getCount());
+	}
+
+	@Test
+	public void testMergeMatchesSingle() {
+		Aggregate all = new Aggregate();
+		Aggregate first = new Aggregate();
+		Aggregate second = new Aggregate();
+		for (int v = -3000; v <= 3000; v += 7){
+			all.add(v * 1000);
+			((v < 0) ? first : second).add(v * 1000);
+		}
+		all.addError();
+		second.addError();
+		first.merge(second);
+
+		assertEquals(print(all), print(first));
+	}
+
+	@Test
+	public void testHistogram() {
+		Aggregate a = new Aggregate();
+		a.add(0);
+		a.add(1);
+		a.add(5);
+		a.add(7);
+		a.add(-8);
+		String summary = print(a);
+		assertTrue(summary, summary.contains("  -15..-8: 1\n"));
+		assertTrue(summary, summary.contains("  0..0: 1\n"));
+		assertTrue(summary, summary.contains("  1..1: 1\n"));
+		assertTrue(summary, summary.contains("  4..7: 2\n"));
+	}
+
+	static String print(Aggregate a){
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		a.print(new PrintStream(out, true));
+		return out.toString().replace("\r\n", "\n");
+	}
+
+}
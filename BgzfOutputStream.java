@@ -0,0 +1,130 @@
+package englishNumbers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a stream to BGZF, as bgzip does: a
+ * gzip member for each block of up to
+ * {@link #BLOCK_INPUT} bytes, each carrying its own
+ * size in a "BC" extra subfield, then an empty
+ * member to mark the end. Any gzip reader can read
+ * it, and {@link ParallelGzipInputStream} can
+ * inflate its members in parallel.
+ *
+ */
+class BgzfOutputStream extends OutputStream {
+    /** Most input in a block, so that it compresses to under 64 kB */
+    static final int BLOCK_INPUT = 0xff00;
+    /** Most bytes in a block, the most its BSIZE field can say */
+    private static final int MAX_BLOCK_SIZE = 64 * 1024;
+    /** XLEN and the "BC" subfield */
+    private static final int EXTRA_SIZE = 2 + 6;
+
+    private final OutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    private final CRC32 crc = new CRC32();
+
+    /** The block being filled */
+    private final byte[] input = new byte[BLOCK_INPUT];
+    private int inputLength = 0;
+    /** The block, compressed */
+    private final byte[] block = new byte[MAX_BLOCK_SIZE];
+    /** For {@link #write(int)} */
+    private final byte[] single = new byte[1];
+
+    /**
+     * @param out where to write the compressed stream
+     */
+    BgzfOutputStream(OutputStream out){
+        this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0){
+            int n = Math.min(len, BLOCK_INPUT - inputLength);
+            System.arraycopy(b, off, input, inputLength, n);
+            inputLength += n;
+            off += n;
+            len -= n;
+            if (inputLength == BLOCK_INPUT){
+                writeBlock();
+            }
+        }
+    }
+
+    /**
+     * Writes out the last block and the end
+     * marker, and closes the stream below.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (inputLength > 0){
+                writeBlock();
+            }
+            writeBlock();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    /** Compresses and writes out the block being filled, which may be empty */
+    private void writeBlock() throws IOException {
+        int headerSize = ParallelGzipInputStream.HEADER_SIZE + EXTRA_SIZE;
+        int maxData = MAX_BLOCK_SIZE - headerSize - ParallelGzipInputStream.TRAILER_SIZE;
+        deflater.reset();
+        deflater.setInput(input, 0, inputLength);
+        deflater.finish();
+        int dataLength = 0;
+        while (!deflater.finished() && dataLength < maxData){
+            dataLength += deflater.deflate(block, headerSize + dataLength, maxData - dataLength);
+        }
+        if (!deflater.finished()){
+            throw new IOException("BGZF block does not compress to " + MAX_BLOCK_SIZE + " bytes");
+        }
+        crc.reset();
+        crc.update(input, 0, inputLength);
+
+        int blockSize = headerSize + dataLength + ParallelGzipInputStream.TRAILER_SIZE;
+        int i = 0;
+        block[i++] = 0x1f;
+        block[i++] = (byte) 0x8b;
+        block[i++] = 8;                                  // deflate
+        block[i++] = ParallelGzipInputStream.FEXTRA;
+        i += 4;                                          // no modification time
+        block[i++] = 0;                                  // extra flags
+        block[i++] = (byte) 0xff;                        // unknown OS
+        i = putShort(EXTRA_SIZE - 2, i);
+        block[i++] = 'B';
+        block[i++] = 'C';
+        i = putShort(2, i);
+        putShort(blockSize - 1, i);
+        i = headerSize + dataLength;
+        i = putInt((int) crc.getValue(), i);
+        putInt(inputLength, i);
+        out.write(block, 0, blockSize);
+        inputLength = 0;
+    }
+
+    private int putShort(int value, int offset){
+        block[offset] = (byte) value;
+        block[offset + 1] = (byte) (value >>> 8);
+        return offset + 2;
+    }
+
+    private int putInt(int value, int offset){
+        putShort(value, offset);
+        return putShort(value >>> 16, offset + 2);
+    }
+}
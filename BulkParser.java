@@ -0,0 +1,296 @@
+package englishNumbers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses many lines at once, writing each line's
+ * value and a status code straight into a
+ * ByteBuffer, rather than keeping an
+ * {@link EnglishNumber} for each. Given direct
+ * buffers (a mapped file, say) nothing is copied
+ * onto the heap, and the results can be handed
+ * to native code or written out with a channel.
+ * <p>
+ * Each line's result is {@link #RECORD_BYTES} long:
+ * its value as an int, or {@link ValueIndex#NO_VALUE}
+ * if it could not be parsed, then its status, in
+ * the results buffer's byte order. Lines are UTF-8
+ * and end at '\n', like {@link LineReader}'s.
+ * <p>
+ * Lines of words that are spelled exactly are
+ * looked up in the trie from their bytes, and run
+ * through the grammar from a few arrays kept
+ * between lines, so parsing allocates nothing.
+ * Any other line is decoded and lexed the usual
+ * way (see {@link Lexicon}). No errors are reported:
+ * the status says what was wrong.
+ * <p>
+ * Not thread-safe: each thread needs its own.
+ *
+ */
+public class BulkParser {
+    /** Bytes of results per line */
+    public static final int RECORD_BYTES = 8;
+
+    /* Status codes */
+    /** Parsed */
+    public static final int OK = 0;
+    /** A word is in no vocabulary, or is not lower-case */
+    public static final int NOT_A_WORD = 1;
+    /** A misspelled word is as close to words that mean different things */
+    public static final int AMBIGUOUS_WORD = 2;
+    /** The line is only whitespace */
+    public static final int NO_WORDS = 3;
+    /** No one language has all the words */
+    public static final int MIXED_LANGUAGES = 4;
+    /** A word cannot come where it is */
+    public static final int UNEXPECTED_WORD = 5;
+    /** The number is not finished */
+    public static final int INCOMPLETE = 6;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /* The tokens of the line being parsed */
+    private TokenType[] types = new TokenType[16];
+    private int[] values = new int[16];
+    private int[] languages = new int[16];
+    private int count = 0;
+
+    /** Value of the line just parsed */
+    private int value = 0;
+    /** Its sign and digits, as EnglishNumber works them out */
+    private final int[] digits = new int[EnglishNumber.DIGIT_COUNT];
+
+    /** Lines that are lexed the usual way, copied off the input */
+    private byte[] lineBytes = new byte[256];
+    private final List<NumberToken> tokens = new ArrayList<NumberToken>();
+
+    /**
+     * Parses lines from input, up to its limit or until
+     * the results are full, whichever is first. The input
+     * is left at the first line not parsed; a line with
+     * no '\n' after it is left for the next call, unless
+     * it is the end of the input.
+     *
+     * @param input UTF-8 lines, from its position
+     * @param results where to write each line's result,
+     *        from its position
+     * @param endOfInput is nothing after the input's limit?
+     * @return the number of lines parsed
+     */
+    public int parse(ByteBuffer input, ByteBuffer results, boolean endOfInput){
+        int position = input.position();
+        int limit = input.limit();
+        int lines = 0;
+        while (position < limit && results.remaining() >= RECORD_BYTES){
+            int end = position;
+            while (end < limit && input.get(end) != '\n'){
+                end++;
+            }
+            if (end == limit && !endOfInput){
+                break;
+            }
+            int next = (end < limit) ? end + 1 : end;
+            // A '\r' before the '\n' is not part of the line
+            if (end > position && input.get(end - 1) == '\r'){
+                end--;
+            }
+
+            int status = parseLine(input, position, end);
+            results.putInt((status == OK) ? value : ValueIndex.NO_VALUE);
+            results.putInt(status);
+            lines++;
+            position = next;
+        }
+        input.position(position);
+        return lines;
+    }
+
+    /**
+     * Parses the line in input[start, end).
+     *
+     * @return its status; if OK, its value is in {@link #value}
+     */
+    private int parseLine(ByteBuffer input, int start, int end){
+        // Words are split at runs of whitespace, as EntryPoint.toWords does
+        count = 0;
+        int wordStart = -1;
+        for (int i = start; i <= end; i++){
+            boolean space = (i == end) || isWhitespace(input.get(i));
+            if (space && wordStart >= 0){
+                if (!lookUp(input, wordStart, i, Lexicon.ROOT)){
+                    return parseDecoded(input, start, end);
+                }
+                wordStart = -1;
+            } else if (!space && wordStart < 0){
+                wordStart = i;
+            }
+        }
+        return (count > 0) ? run() : NO_WORDS;
+    }
+
+    /**
+     * Looks up a word by its bytes in the trie, as
+     * one word or words joined by hyphens, the way
+     * Lexicon does, and adds their tokens.
+     *
+     * @param from where the walk goes on from, in
+     *        the part of the word the node is for
+     * @return false if it is not words, exactly as
+     *         they are spelled; then no tokens are added
+     */
+    private boolean lookUp(ByteBuffer input, int from, int end, int node){
+        int i = from;
+        while (i < end){
+            int b = input.get(i++) & 0xff;
+            char c;
+            if (b < 0x80){
+                if (b == '-' && i < end && Lexicon.wordAt(node) >= 0){
+                    return lookUpAfterHyphen(input, i, end, node);
+                }
+                c = (char) b;
+            } else if ((b & 0xe0) == 0xc0 && i < end && isContinuation(input.get(i))){
+                c = (char) (((b & 0x1f) << 6) | (input.get(i++) & 0x3f));
+            } else if ((b & 0xf0) == 0xe0 && i + 1 < end
+                    && isContinuation(input.get(i)) && isContinuation(input.get(i + 1))){
+                c = (char) (((b & 0x0f) << 12) | ((input.get(i++) & 0x3f) << 6) | (input.get(i++) & 0x3f));
+            } else {
+                // Not in any vocabulary, or not UTF-8
+                return false;
+            }
+            node = Lexicon.child(node, c);
+            if (node < 0){
+                return false;
+            }
+        }
+        int word = Lexicon.wordAt(node);
+        if (word < 0){
+            return false;
+        }
+        addWord(word);
+        return true;
+    }
+
+    /**
+     * Goes on with a lookup after a hyphen that follows
+     * a word: as a word that goes on with the hyphen
+     * ("dix-sept"), or else as the end of a part.
+     *
+     * @param from where the walk goes on from
+     * @param node the node of the word before the hyphen
+     */
+    private boolean lookUpAfterHyphen(ByteBuffer input, int from, int end, int node){
+        int longer = Lexicon.child(node, '-');
+        if (longer >= 0 && lookUp(input, from, end, longer)){
+            return true;
+        }
+        int before = count;
+        addWord(Lexicon.wordAt(node));
+        if (lookUp(input, from, end, Lexicon.ROOT)){
+            return true;
+        }
+        count = before;
+        return false;
+    }
+
+    /** Adds the tokens a word stands for */
+    private void addWord(int word){
+        for (int t = TokenTables.WORD_TOKENS[word]; t < TokenTables.WORD_TOKENS[word + 1]; t++){
+            addToken(TokenTables.TOKEN_TYPES[t], TokenTables.TOKEN_VALUES[t], TokenTables.WORD_LANGUAGES[word]);
+        }
+    }
+
+    /**
+     * Parses the line in input[start, end) the way
+     * EntryPoint does, for lines with words that are
+     * misspelled, run together, or not words at all.
+     *
+     * @return its status; if OK, its value is in {@link #value}
+     */
+    private int parseDecoded(ByteBuffer input, int start, int end){
+        if (end - start > lineBytes.length){
+            lineBytes = new byte[Math.max(end - start, lineBytes.length * 2)];
+        }
+        for (int i = start; i < end; i++){
+            lineBytes[i - start] = input.get(i);
+        }
+        String line = new String(lineBytes, 0, end - start, UTF_8);
+
+        tokens.clear();
+        for (String word : EntryPoint.toWords(line)){
+            int found = Lexicon.lookUp(word, tokens);
+            if (found == Lexicon.AMBIGUOUS){
+                return AMBIGUOUS_WORD;
+            } else if (found == Lexicon.NOT_FOUND){
+                return NOT_A_WORD;
+            }
+        }
+        if (tokens.isEmpty()){
+            return NO_WORDS;
+        }
+
+        count = 0;
+        for (NumberToken token : tokens){
+            addToken(token.type, token.value, token.languages);
+        }
+        return run();
+    }
+
+    private void addToken(TokenType type, int tokenValue, int tokenLanguages){
+        if (count == types.length){
+            types = Arrays.copyOf(types, count * 2);
+            values = Arrays.copyOf(values, count * 2);
+            languages = Arrays.copyOf(languages, count * 2);
+        }
+        types[count] = type;
+        values[count] = tokenValue;
+        languages[count] = tokenLanguages;
+        count++;
+    }
+
+    /**
+     * Runs the tokens through the grammar of the first
+     * language that has them all, working out their
+     * value with {@link EnglishNumber#apply(TokenType, int, int[])}.
+     *
+     * @return the status; if OK, the value is in {@link #value}
+     */
+    private int run(){
+        int common = ~0;
+        for (int t = 0; t < count; t++){
+            if ((common & languages[t]) == 0){
+                return MIXED_LANGUAGES;
+            }
+            common &= languages[t];
+        }
+
+        int state = TokenTables.START[Integer.numberOfTrailingZeros(common)];
+        Arrays.fill(digits, 0);
+        for (int t = 0; t < count; t++){
+            state = Grammar.next(state, types[t]);
+            if (state < 0){
+                return UNEXPECTED_WORD;
+            }
+            EnglishNumber.apply(types[t], values[t], digits);
+        }
+        if (!TokenTables.ACCEPTING[state]){
+            return INCOMPLETE;
+        }
+
+        value = EnglishNumber.valueOf(digits);
+        return OK;
+    }
+
+    /** Is a byte whitespace, as regular expressions' \s? */
+    private static boolean isWhitespace(byte b){
+        return b == ' ' || b == '\t' || b == '\n' || b == 0x0b || b == '\f' || b == '\r';
+    }
+
+    private static boolean isContinuation(byte b){
+        return (b & 0xc0) == 0x80;
+    }
+}
@@ -0,0 +1,147 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkParserTest {
+
+	ErrorManager em = ErrorManager.getInstance();
+	Charset utf8 = Charset.forName("UTF-8");
+
+	@Before
+	public void setUp() throws Exception {
+		em.setErrorOutput(new PrintStream(new ByteArrayOutputStream(), true));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Lexicon.setMaxEdits(0);
+		Lexicon.setSegmenting(false);
+	}
+
+	/** Parses text into direct buffers, returning the results */
+	private ByteBuffer parse(String text){
+		byte[] bytes = text.getBytes(utf8);
+		ByteBuffer input = ByteBuffer.allocateDirect(bytes.length);
+		input.put(bytes).flip();
+		ByteBuffer results = ByteBuffer.allocateDirect(text.length() * BulkParser.RECORD_BYTES + 8)
+				.order(ByteOrder.nativeOrder());
+		new BulkParser().parse(input, results, true);
+		assertFalse(input.hasRemaining());
+		results.flip();
+		return results;
+	}
+
+	private void assertResult(ByteBuffer results, int value, int status){
+		assertEquals(value, results.getInt());
+		assertEquals(status, results.getInt());
+	}
+
+	@Test
+	public void testMatchesEnglishNumber() {
+		CorpusGenerator generator = new CorpusGenerator(3, 0.2, 0, 0);
+		StringBuilder text = new StringBuilder();
+		String[] lines = new String[2000];
+		for (int i = 0; i < lines.length; i++){
+			lines[i] = generator.nextLine();
+			text.append(lines[i]).append('\n');
+		}
+		ByteBuffer results = parse(text.toString());
+		for (String line : lines){
+			EnglishNumber number = EntryPoint.parse(EntryPoint.toWords(line));
+			int value = results.getInt();
+			int status = results.getInt();
+			assertEquals(line, number != null, status == BulkParser.OK);
+			assertEquals(line, (number != null) ? number.toInt() : ValueIndex.NO_VALUE, value);
+		}
+		assertFalse(results.hasRemaining());
+	}
+
+	@Test
+	public void testStatuses() {
+		ByteBuffer results = parse("minus twenty one\r\n"
+				+ "twenty one\n"
+				+ "twenty bogus\n"
+				+ "Twenty\n"
+				+ " \n"
+				+ "\n"
+				+ "zwanzig one\n"
+				+ "one twenty\n"
+				+ "one hundred thousand one\n"
+				+ "minus\n"
+				+ "dreiundzwanzig\n"
+				+ "doscientos veintiuno");
+		assertResult(results, -21, BulkParser.OK);
+		assertResult(results, 21, BulkParser.OK);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NOT_A_WORD);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NOT_A_WORD);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NO_WORDS);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NO_WORDS);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.MIXED_LANGUAGES);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.UNEXPECTED_WORD);
+		assertResult(results, 100001, BulkParser.OK);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.INCOMPLETE);
+		assertResult(results, 23, BulkParser.OK);
+		assertResult(results, 221, BulkParser.OK);
+		assertFalse(results.hasRemaining());
+	}
+
+	@Test
+	public void testHyphens() {
+		ByteBuffer results = parse("twenty-one thousand\n"
+				+ "quatre-vingt-dix-sept\n"
+				+ "soixante-dix-huit mille\n"
+				+ "twenty--one\n"
+				+ "twenty-uno\n");
+		assertResult(results, 21000, BulkParser.OK);
+		assertResult(results, 97, BulkParser.OK);
+		assertResult(results, 78000, BulkParser.OK);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NOT_A_WORD);
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.MIXED_LANGUAGES);
+		assertFalse(results.hasRemaining());
+	}
+
+	@Test
+	public void testMisspelledAndRunTogether() {
+		Lexicon.setMaxEdits(2);
+		Lexicon.setSegmenting(true);
+		ByteBuffer results = parse("fourty two\ntwentyonethousand\n");
+		assertResult(results, 42, BulkParser.OK);
+		assertResult(results, 21000, BulkParser.OK);
+	}
+
+	@Test
+	public void testResumes() {
+		ByteBuffer input = ByteBuffer.wrap("one\ntwo\nthree\nfou".getBytes(utf8));
+		ByteBuffer results = ByteBuffer.allocateDirect(2 * BulkParser.RECORD_BYTES);
+		BulkParser parser = new BulkParser();
+
+		// Stops when the results are full
+		assertEquals(2, parser.parse(input, results, false));
+		assertEquals(8, input.position());
+		results.flip();
+		assertResult(results, 1, BulkParser.OK);
+		assertResult(results, 2, BulkParser.OK);
+
+		// Leaves an unfinished line
+		results.clear();
+		assertEquals(1, parser.parse(input, results, false));
+		assertEquals(14, input.position());
+
+		// Until the input is known to end there
+		results.clear();
+		assertEquals(1, parser.parse(input, results, true));
+		assertFalse(input.hasRemaining());
+		results.flip();
+		assertResult(results, ValueIndex.NO_VALUE, BulkParser.NOT_A_WORD);
+	}
+}
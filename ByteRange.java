@@ -0,0 +1,127 @@
+package englishNumbers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A range of bytes [start, end) of an input file
+ * that begins and ends on a line boundary, so it
+ * can be parsed without looking at the rest of
+ * the file.
+ *
+ */
+class ByteRange {
+    /** First byte of the range */
+    final long start;
+    /** One past the last byte of the range */
+    final long end;
+
+    ByteRange(long start, long end){
+        assert (start >= 0 && start <= end) : "Invalid range " + start + "-" + end;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** Number of bytes in the range */
+    long length(){
+        return end - start;
+    }
+
+    /**
+     * Parses a range from its command-line
+     * form, "start:end".
+     *
+     * @throws IllegalArgumentException if s is not a valid range
+     */
+    static ByteRange parse(String s){
+        int colon = s.indexOf(':');
+        if (colon < 0){
+            throw new IllegalArgumentException("Expected a range as start:end, got \"" + s + "\"");
+        }
+        try {
+            long start = Long.parseLong(s.substring(0, colon));
+            long end = Long.parseLong(s.substring(colon + 1));
+            if (start < 0 || end < start){
+                throw new IllegalArgumentException("Invalid range: \"" + s + "\"");
+            }
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e){
+            throw new IllegalArgumentException("Expected a range as start:end, got \"" + s + "\"");
+        }
+    }
+
+    /** The command-line form of this range */
+    @Override
+    public String toString(){
+        return start + ":" + end;
+    }
+
+    /**
+     * Splits a file into at most the given number of
+     * ranges of roughly equal size. Each range
+     * ends just after a '\n' (or at the end of
+     * the file). Empty ranges are left out.
+     *
+     * @param file the file to split
+     * @param parts how many ranges to aim for
+     * @return the ranges, in file order
+     * @throws IOException if the file cannot be read
+     */
+    static List<ByteRange> split(File file, int parts) throws IOException {
+        assert (parts > 0) : "Must split into at least one range";
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            List<ByteRange> ranges = new ArrayList<ByteRange>(parts);
+
+            long start = 0;
+            for (int i = 1; i <= parts && start < size; i++){
+                long end = (i == parts) ? size : nextLineStart(channel, size * i / parts, size);
+                if (end > start){
+                    ranges.add(new ByteRange(start, end));
+                    start = end;
+                }
+            }
+            return ranges;
+        } finally {
+            raf.close();
+        }
+    }
+
+    /**
+     * Finds the first line that starts at or
+     * after the given position.
+     *
+     * @return the offset of that line, or size if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        if (from == 0){
+            return 0;
+        }
+
+        // The line starts right after the '\n' at or after from-1
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long pos = from - 1;
+        while (pos < size){
+            buffer.clear();
+            int read = channel.read(buffer, pos);
+            if (read <= 0){
+                break;
+            }
+            for (int i = 0; i < read; i++){
+                if (buffer.get(i) == '\n'){
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+}
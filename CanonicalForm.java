@@ -0,0 +1,125 @@
+package englishNumbers;
+
+import java.nio.charset.Charset;
+
+/**
+ * The canonical English spelling of a value, which
+ * is the same however the number was written: "zero",
+ * not "naught"; "minus", not "negative"; no "and" or
+ * hyphens; and only lower case:
+ * <pre>
+ *   minus twenty one thousand three hundred five
+ * </pre>
+ * The spelling of every triplet from 1 to 999 is
+ * worked out once, as ASCII bytes, so writing a value
+ * is a few array copies.
+ *
+ */
+final class CanonicalForm {
+    private static final String[] DIGITS = {
+        "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine"
+    };
+    private static final String[] TEENS = {
+        "ten", "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen", "nineteen"
+    };
+    private static final String[] TENS = {
+        null, null, "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
+    };
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    /** Spelling of each triplet, by its value; empty for 0 */
+    private static final byte[][] TRIPLETS = new byte[1000][];
+    private static final byte[] ZERO = DIGITS[0].getBytes(ASCII);
+    private static final byte[] MINUS = "minus".getBytes(ASCII);
+    private static final byte[] MILLION = " million".getBytes(ASCII);
+    private static final byte[] THOUSAND = " thousand".getBytes(ASCII);
+
+    /** Most bytes a value's spelling takes */
+    static final int MAX_LENGTH;
+
+    static {
+        int longest = 0;
+        for (int triplet = 0; triplet < TRIPLETS.length; triplet++){
+            TRIPLETS[triplet] = spell(triplet).getBytes(ASCII);
+            longest = Math.max(longest, TRIPLETS[triplet].length);
+        }
+        // "minus a million b thousand c"
+        MAX_LENGTH = MINUS.length + 1 + longest + MILLION.length + 1 + longest + THOUSAND.length + 1 + longest;
+    }
+
+    private CanonicalForm(){ }
+
+    /** Spells a triplet, the slow way */
+    private static String spell(int triplet){
+        StringBuilder sb = new StringBuilder();
+        int hundreds = triplet / 100;
+        int tens = triplet / 10 % 10;
+        int ones = triplet % 10;
+        if (hundreds > 0){
+            sb.append(DIGITS[hundreds]).append(" hundred ");
+        }
+        if (tens == 1){
+            sb.append(TEENS[ones]);
+        } else {
+            if (tens > 1){
+                sb.append(TENS[tens]).append(' ');
+            }
+            if (ones > 0){
+                sb.append(DIGITS[ones]);
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Writes the spelling of a value.
+     *
+     * @param value between -999999999 and 999999999
+     * @param buffer where to write it; must have room
+     *        for {@link #MAX_LENGTH} bytes after offset
+     * @param offset where in buffer to start
+     * @return the offset after the spelling
+     */
+    static int write(int value, byte[] buffer, int offset){
+        assert (Math.abs((long) value) < 1000000000) : "Cannot spell " + value;
+        if (value == 0){
+            return copy(ZERO, buffer, offset);
+        }
+        int start = offset;
+        if (value < 0){
+            offset = copy(MINUS, buffer, offset);
+            value = -value;
+        }
+        offset = writeGroup(value / 1000000, MILLION, buffer, offset, start);
+        offset = writeGroup(value / 1000 % 1000, THOUSAND, buffer, offset, start);
+        return writeGroup(value % 1000, null, buffer, offset, start);
+    }
+
+    /**
+     * Spells a value.
+     *
+     * @param value between -999999999 and 999999999
+     */
+    static String toString(int value){
+        byte[] buffer = new byte[MAX_LENGTH];
+        return new String(buffer, 0, write(value, buffer, 0), ASCII);
+    }
+
+    /** Writes a triplet, and its scale word, unless it is zero */
+    private static int writeGroup(int triplet, byte[] scale, byte[] buffer, int offset, int start){
+        if (triplet == 0){
+            return offset;
+        }
+        if (offset > start){
+            buffer[offset++] = ' ';
+        }
+        offset = copy(TRIPLETS[triplet], buffer, offset);
+        return (scale != null) ? copy(scale, buffer, offset) : offset;
+    }
+
+    private static int copy(byte[] bytes, byte[] buffer, int offset){
+        System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+        return offset + bytes.length;
+    }
+}
@@ -0,0 +1,71 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CanonicalFormTest {
+
+	ErrorManager em = ErrorManager.getInstance();
+
+	@Before
+	public void setUp() throws Exception {
+		em.setErrorOutput(new PrintStream(new ByteArrayOutputStream(), true));
+	}
+
+	private static String canonical(String line){
+		return EntryPoint.parse(EntryPoint.toWords(line)).toCanonicalString();
+	}
+
+	@Test
+	public void testCanonicalSpelling() {
+		assertEquals("zero", canonical("naught"));
+		assertEquals("minus five hundred thirteen thousand one hundred twelve",
+				canonical("negative five hundred thirteen thousand one hundred twelve"));
+		assertEquals("one hundred five", canonical("one hundred and five"));
+		assertEquals("twenty one million one", canonical("twenty-one million and one"));
+		assertEquals("twenty one", canonical("einundzwanzig"));
+		assertEquals("ninety seven", canonical("quatre-vingt-dix-sept"));
+		assertEquals("one thousand", canonical("mil"));
+		assertEquals("uninitialized", new EnglishNumber().toCanonicalString());
+	}
+
+	@Test
+	public void testEveryTripletParsesBack() {
+		for (int value = -999; value <= 999; value++){
+			String words = CanonicalForm.toString(value);
+			assertEquals(words, value, EntryPoint.parse(EntryPoint.toWords(words)).toInt());
+		}
+		Random random = new Random(5);
+		for (int i = 0; i < 10000; i++){
+			int value = random.nextInt(2 * CorpusGenerator.MAX_VALUE + 1) - CorpusGenerator.MAX_VALUE;
+			EnglishNumber number = EntryPoint.parse(EntryPoint.toWords(CanonicalForm.toString(value)));
+			assertEquals(value, number.toInt());
+		}
+	}
+
+	@Test
+	public void testWritesAtOffset() {
+		byte[] buffer = new byte[3 + EnglishNumber.MAX_CANONICAL_LENGTH];
+		EnglishNumber longest = EntryPoint.parse(EntryPoint.toWords(CanonicalForm.toString(-777777777)));
+		int end = longest.writeCanonical(buffer, 3);
+		assertEquals(longest.toCanonicalString(), new String(buffer, 3, end - 3));
+		assertTrue(end <= buffer.length);
+		assertEquals(3, new EnglishNumber().writeCanonical(buffer, 3));
+	}
+
+	@Test
+	public void testCanonicalMode() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String input = "negative one\nbogus\n\ntwo  hundred and  two\n";
+		EntryPoint.canonical(new LineReader(new ByteArrayInputStream(input.getBytes("US-ASCII"))), out);
+		// Lines that fail are left empty, so the output lines up with the input
+		assertEquals("minus one\n\n\ntwo hundred two\n", out.toString("US-ASCII"));
+	}
+}
@@ -0,0 +1,129 @@
+package englishNumbers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What may come next in a partly typed number,
+ * for suggesting words as they are typed:
+ * "twenty th" may go on as "twenty thousand"
+ * or "twenty three", but not "twenty thirty".
+ * <p>
+ * The words typed so far are run through the
+ * grammar of each language that has them all;
+ * then the trie is walked below the word being
+ * typed, keeping the words that some of those
+ * grammars allow next. Both are the tables the
+ * parser uses, so nothing is built per call.
+ *
+ */
+public class Completion {
+    /** Words that may come next, in order */
+    private final List<String> words;
+    /** Is what was typed a number already? */
+    private final boolean complete;
+
+    private Completion(List<String> words, boolean complete){
+        this.words = Collections.unmodifiableList(words);
+        this.complete = complete;
+    }
+
+    /**
+     * Finds the completions of a partly typed number.
+     * Everything up to the last whitespace must be
+     * words; whatever follows it is the start of the
+     * word being typed (empty if it has not been started).
+     *
+     * @param typed what has been typed
+     * @return the words that may come next
+     */
+    public static Completion of(String typed){
+        int wordStart = typed.length();
+        while (wordStart > 0 && !Character.isWhitespace(typed.charAt(wordStart - 1))){
+            wordStart--;
+        }
+        String prefix = typed.substring(wordStart);
+
+        // The grammar state after the typed words, in each language; -1 if it has not got them
+        List<NumberToken> tokens = new ArrayList<NumberToken>();
+        for (String word : typed.substring(0, wordStart).trim().split("\\s+")){
+            if (!word.isEmpty() && !Lexicon.lexExact(word, tokens)){
+                return new Completion(new ArrayList<String>(), false);
+            }
+        }
+        int[] states = new int[TokenTables.LANGUAGES.length];
+        for (int language = 0; language < states.length; language++){
+            states[language] = Grammar.step(TokenTables.START[language], language, tokens);
+        }
+
+        List<String> words = new ArrayList<String>();
+        int node = Lexicon.ROOT;
+        for (int i = 0; i < prefix.length() && node >= 0; i++){
+            node = Lexicon.child(node, prefix.charAt(i));
+        }
+        if (node >= 0){
+            collect(node, states, words);
+        }
+
+        // Complete if the word being typed is a word, and ends a number
+        boolean complete = false;
+        List<NumberToken> all = new ArrayList<NumberToken>(tokens);
+        if (prefix.isEmpty() || Lexicon.lexExact(prefix, all)){
+            List<NumberToken> last = all.subList(tokens.size(), all.size());
+            for (int language = 0; language < states.length && !all.isEmpty() && !complete; language++){
+                int state = Grammar.step(states[language], language, last);
+                complete = (state >= 0) && TokenTables.ACCEPTING[state];
+            }
+        }
+        return new Completion(words, complete);
+    }
+
+    /** Words that may come next, in alphabetical order */
+    public List<String> getWords(){
+        return words;
+    }
+
+    /** Is what was typed a whole number, as it is? */
+    public boolean isComplete(){
+        return complete;
+    }
+
+    @Override
+    public String toString(){
+        return words + (complete ? " (complete)" : "");
+    }
+
+    /**
+     * Adds the words at and below a node of the
+     * trie that may come next, in trie order,
+     * which is alphabetical.
+     */
+    private static void collect(int node, int[] states, List<String> words){
+        int word = Lexicon.wordAt(node);
+        if (word >= 0 && allowed(word, states)){
+            words.add(TokenTables.WORDS[word]);
+        }
+        int end = TokenTables.TRIE_FIRST_EDGE.charAt(node + 1);
+        for (int edge = TokenTables.TRIE_FIRST_EDGE.charAt(node); edge < end; edge++){
+            collect(TokenTables.TRIE_TARGETS.charAt(edge), states, words);
+        }
+    }
+
+    /** May the word come next in any language that has it? */
+    private static boolean allowed(int word, int[] states){
+        for (int language = 0; language < states.length; language++){
+            if (states[language] < 0 || (TokenTables.WORD_LANGUAGES[word] & (1 << language)) == 0){
+                continue;
+            }
+            int state = states[language];
+            for (int t = TokenTables.WORD_TOKENS[word]; t < TokenTables.WORD_TOKENS[word + 1] && state >= 0; t++){
+                state = Grammar.next(state, TokenTables.TOKEN_TYPES[t]);
+            }
+            if (state >= 0){
+                return true;
+            }
+        }
+        return false;
+    }
+}
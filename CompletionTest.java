@@ -0,0 +1,59 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class CompletionTest {
+
+	@Test
+	public void testCompletesWordBeingTyped() {
+		Completion completion = Completion.of("twenty th");
+		assertEquals(Arrays.asList("thousand", "three"), completion.getWords());
+		assertFalse(completion.isComplete());
+	}
+
+	@Test
+	public void testNextWords() {
+		Completion completion = Completion.of("three hundred ");
+		assertTrue(completion.isComplete());
+		assertTrue(completion.getWords().contains("twelve"));
+		assertTrue(completion.getWords().contains("thousand"));
+		assertTrue(completion.getWords().contains("million"));
+		assertFalse("Not after hundred", completion.getWords().contains("hundred"));
+		assertFalse("Not English", completion.getWords().contains("douze"));
+	}
+
+	@Test
+	public void testCompleteWord() {
+		Completion completion = Completion.of("minus five");
+		assertTrue(completion.isComplete());
+		assertTrue(completion.getWords().contains("five"));
+		assertFalse(Completion.of("minus").isComplete());
+		assertFalse(Completion.of("").isComplete());
+	}
+
+	@Test
+	public void testNothingAfterZero() {
+		Completion completion = Completion.of("zero ");
+		assertTrue(completion.isComplete());
+		assertTrue(completion.getWords().isEmpty());
+	}
+
+	@Test
+	public void testInvalidPhrase() {
+		assertTrue(Completion.of("bogus t").getWords().isEmpty());
+		assertTrue(Completion.of("twenty thirty ").getWords().isEmpty());
+		assertTrue(Completion.of("twenty xy").getWords().isEmpty());
+	}
+
+	@Test
+	public void testOtherLanguages() {
+		assertEquals(Arrays.asList("mille", "million", "millions"), Completion.of("deux mil").getWords());
+		assertTrue(Completion.of("treinta ").getWords().contains("y"));
+		assertFalse(Completion.of("thirty ").getWords().contains("y"));
+	}
+
+}
@@ -0,0 +1,173 @@
+package englishNumbers;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Recognizes compressed input by its magic
+ * number and decompresses it as it is read,
+ * so it never has to be written out to disk.
+ * <p>
+ * Gzip is decompressed in this JVM, in parallel
+ * when its members allow it (see
+ * {@link ParallelGzipInputStream}). Zstandard is
+ * decompressed by a local "zstd -dc" process,
+ * or whatever command the englishNumbers.zstd
+ * system property names.
+ *
+ */
+class CompressedInput {
+    /** Kinds of input we recognize */
+    enum Format {
+        PLAIN, GZIP, ZSTD
+    }
+
+    /** Bytes needed to recognize a format */
+    private static final int MAGIC_SIZE = 4;
+
+    private CompressedInput(){ }
+
+    /**
+     * Works out what format a stream is in,
+     * without consuming any of it.
+     *
+     * @param in a stream that supports mark and reset
+     * @throws IOException if the stream cannot be read
+     */
+    static Format detect(InputStream in) throws IOException {
+        assert (in.markSupported()) : "Need to look ahead in the stream";
+
+        byte[] magic = new byte[MAGIC_SIZE];
+        in.mark(MAGIC_SIZE);
+        int read = 0;
+        try {
+            while (read < MAGIC_SIZE){
+                int n = in.read(magic, read, MAGIC_SIZE - read);
+                if (n < 0){
+                    break;
+                }
+                read += n;
+            }
+        } finally {
+            in.reset();
+        }
+
+        if (read >= 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b){
+            return Format.GZIP;
+        }
+        if (read >= 4 && (magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5
+                && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd){
+            return Format.ZSTD;
+        }
+        return Format.PLAIN;
+    }
+
+    /**
+     * Works out what format a file is in.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    static Format detect(File file) throws IOException {
+        InputStream in = new BufferedInputStream(new FileInputStream(file), MAGIC_SIZE);
+        try {
+            return detect(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Opens a stream that decompresses the given
+     * stream, if it is compressed.
+     *
+     * @param in the possibly compressed stream
+     * @param threads how many threads may decompress gzip
+     * @return a stream of the decompressed bytes
+     * @throws IOException if the stream cannot be read
+     */
+    static InputStream open(InputStream in, int threads) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, 64 * 1024);
+        switch (detect(buffered)){
+            case GZIP:
+                if (threads > 1){
+                    return new ParallelGzipInputStream(buffered, threads);
+                }
+                return new GZIPInputStream(buffered, 64 * 1024);
+            case ZSTD:
+                return openZstd(buffered);
+            default:
+                return buffered;
+        }
+    }
+
+    /**
+     * Decompresses Zstandard with a child process,
+     * feeding it from a separate thread.
+     */
+    private static InputStream openZstd(final InputStream in) throws IOException {
+        String command = System.getProperty("englishNumbers.zstd", "zstd");
+        final Process process = new ProcessBuilder(command, "-dc")
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        Thread feeder = new Thread("zstd-feeder"){
+            @Override
+            public void run(){
+                OutputStream out = process.getOutputStream();
+                try {
+                    byte[] buffer = new byte[64 * 1024];
+                    int read;
+                    while ((read = in.read(buffer)) > 0){
+                        out.write(buffer, 0, read);
+                    }
+                } catch (IOException e){
+                    // zstd exited early; its exit code says why
+                } finally {
+                    try {
+                        out.close();
+                        in.close();
+                    } catch (IOException e){
+                        // Nothing more to do
+                    }
+                }
+            }
+        };
+        feeder.setDaemon(true);
+        feeder.start();
+
+        return new FilterInputStream(process.getInputStream()){
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read < 0){
+                    checkExit();
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                process.destroy();
+            }
+
+            /** Makes a failed decompression an error rather than a short input */
+            private void checkExit() throws IOException {
+                try {
+                    int exitCode = process.waitFor();
+                    if (exitCode != 0){
+                        throw new IOException("zstd exited with code " + exitCode);
+                    }
+                } catch (InterruptedException e){
+                    throw new IOException("Interrupted while waiting for zstd", e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,205 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompressedInputTest {
+
+	byte[] text;
+
+	@Before
+	public void setUp() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		String[] lines = {"one", "minus five", "three hundred twenty six", "two thousand five", "sixty seven"};
+		for (int i = 0; i < 20000; i++){
+			sb.append(lines[i % lines.length]).append('\n');
+		}
+		text = sb.toString().getBytes("US-ASCII");
+	}
+
+	@Test
+	public void testDetect() throws Exception {
+		assertEquals(CompressedInput.Format.PLAIN, detect(text));
+		assertEquals(CompressedInput.Format.PLAIN, detect(new byte[0]));
+		assertEquals(CompressedInput.Format.GZIP, detect(gzip(text)));
+		assertEquals(CompressedInput.Format.ZSTD, detect(new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0}));
+	}
+
+	@Test
+	public void testPlainPassesThrough() throws Exception {
+		assertArrayEquals(text, readAll(CompressedInput.open(new ByteArrayInputStream(text), 4)));
+	}
+
+	@Test
+	public void testBgzfInParallel() throws Exception {
+		ByteArrayOutputStream bgzf = new ByteArrayOutputStream();
+		for (int off = 0; off < text.length; off += 5000){
+			bgzf.write(bgzfBlock(text, off, Math.min(5000, text.length - off)));
+		}
+		bgzf.write(bgzfBlock(text, 0, 0));
+
+		for (int threads = 1; threads <= 4; threads++){
+			InputStream in = CompressedInput.open(new ByteArrayInputStream(bgzf.toByteArray()), threads);
+			assertArrayEquals(text, readAll(in));
+		}
+	}
+
+	@Test
+	public void testBgzfOutput() throws Exception {
+		ByteArrayOutputStream bgzf = new ByteArrayOutputStream();
+		OutputStream out = new BgzfOutputStream(bgzf);
+		for (int i = 0; i < 10; i++){
+			out.write(text);
+		}
+		out.write('x');
+		out.close();
+		byte[] expected = new byte[10 * text.length + 1];
+		for (int i = 0; i < 10; i++){
+			System.arraycopy(text, 0, expected, i * text.length, text.length);
+		}
+		expected[expected.length - 1] = 'x';
+
+		byte[] compressed = bgzf.toByteArray();
+		assertEquals("BGZF", 'B', compressed[12]);
+		assertEquals("BGZF", 'C', compressed[13]);
+		assertArrayEquals(expected, readAll(CompressedInput.open(new ByteArrayInputStream(compressed), 4)));
+		assertArrayEquals(expected, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+	}
+
+	@Test
+	public void testPlainGzipMembers() throws Exception {
+		// Ordinary members, after some BGZF ones
+		ByteArrayOutputStream mixed = new ByteArrayOutputStream();
+		int half = text.length / 2;
+		mixed.write(bgzfBlock(text, 0, half));
+		mixed.write(gzip(slice(text, half, text.length / 4)));
+		mixed.write(gzip(slice(text, half + text.length / 4, text.length - half - text.length / 4)));
+
+		InputStream in = CompressedInput.open(new ByteArrayInputStream(mixed.toByteArray()), 4);
+		assertArrayEquals(text, readAll(in));
+	}
+
+	@Test
+	public void testCorruptMember() throws Exception {
+		byte[] block = bgzfBlock(text, 0, 1000);
+		block[block.length - 9] ^= 0x55;
+		try {
+			readAll(CompressedInput.open(new ByteArrayInputStream(block), 2));
+			fail("Corrupt member should not be read");
+		} catch (java.io.IOException e){
+			// Expected
+		}
+	}
+
+	@Test
+	public void testTruncatedMembers() throws Exception {
+		byte[] deflated = deflate(text, 0, 1000);
+		int crc = crc(text, 0, 1000);
+		byte[][] corrupt = {
+				// ISIZE and CRC of only part of what inflates
+				bgzfMember(deflated, deflated.length, crc(text, 0, 500), 500),
+				// The deflate data cut short
+				bgzfMember(deflated, deflated.length / 2, crc, 1000),
+				// Bytes after the deflate data
+				bgzfMember(Arrays.copyOf(deflated, deflated.length + 3), deflated.length + 3, crc, 1000),
+				// ISIZE of more than inflates
+				bgzfMember(deflated, deflated.length, crc, 1001),
+		};
+		for (byte[] block : corrupt){
+			try {
+				readAll(CompressedInput.open(new ByteArrayInputStream(block), 2));
+				fail("Truncated member should not be read");
+			} catch (ZipException e){
+				// Expected
+			}
+		}
+	}
+
+	static CompressedInput.Format detect(byte[] bytes) throws Exception {
+		return CompressedInput.detect(new java.io.BufferedInputStream(new ByteArrayInputStream(bytes)));
+	}
+
+	static byte[] slice(byte[] b, int off, int len){
+		byte[] out = new byte[len];
+		System.arraycopy(b, off, out, 0, len);
+		return out;
+	}
+
+	static byte[] gzip(byte[] b) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		GZIPOutputStream gz = new GZIPOutputStream(out);
+		gz.write(b);
+		gz.close();
+		return out.toByteArray();
+	}
+
+	/** Writes one BGZF member, as bgzip would */
+	static byte[] bgzfBlock(byte[] b, int off, int len){
+		byte[] data = deflate(b, off, len);
+		return bgzfMember(data, data.length, crc(b, off, len), len);
+	}
+
+	static byte[] deflate(byte[] b, int off, int len){
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		deflater.setInput(b, off, len);
+		deflater.finish();
+		byte[] data = new byte[len + 1024];
+		int dataLen = 0;
+		while (!deflater.finished()){
+			dataLen += deflater.deflate(data, dataLen, data.length - dataLen);
+		}
+		deflater.end();
+		return Arrays.copyOf(data, dataLen);
+	}
+
+	static int crc(byte[] b, int off, int len){
+		CRC32 crc = new CRC32();
+		crc.update(b, off, len);
+		return (int) crc.getValue();
+	}
+
+	/** Writes a BGZF member with the given deflate data and trailer */
+	static byte[] bgzfMember(byte[] data, int dataLen, int crc, int size){
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		int blockSize = 18 + dataLen + 8;
+		byte[] header = {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0,
+				(byte) (blockSize - 1), (byte) ((blockSize - 1) >> 8)};
+		out.write(header, 0, header.length);
+		out.write(data, 0, dataLen);
+		writeInt(out, crc);
+		writeInt(out, size);
+		return out.toByteArray();
+	}
+
+	static void writeInt(ByteArrayOutputStream out, int v){
+		out.write(v);
+		out.write(v >> 8);
+		out.write(v >> 16);
+		out.write(v >> 24);
+	}
+
+	static byte[] readAll(InputStream in) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[777];
+		int read;
+		while ((read = in.read(buffer)) >= 0){
+			out.write(buffer, 0, read);
+		}
+		in.close();
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,222 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes corpora of English number phrases, one
+ * per line, for benchmarks (see {@link MacroBenchmark}).
+ * The same seed and settings always give the same
+ * corpus.
+ * <p>
+ * Values are drawn uniformly from the whole range
+ * EnglishNumber supports. With a Zipf exponent,
+ * lines instead repeat values from a fixed pool,
+ * the k-th most common in proportion to 1/k^s.
+ * A share of lines are made invalid, in one of
+ * three ways: a word in upper case, an unknown
+ * word, or words out of order.
+ *
+ */
+class CorpusGenerator {
+    /** Largest magnitude EnglishNumber supports */
+    static final int MAX_VALUE = 999999999;
+
+    /** Words no vocabulary has */
+    private static final String[] UNKNOWN = {
+        "bogus", "banana", "eleventy", "zillion", "umm", "thousands"
+    };
+
+    private final Random random;
+    /** Share of lines made invalid, from 0 to 1 */
+    private final double errorRate;
+    /** Values to repeat, or null to draw a new value for every line */
+    private final int[] pool;
+    /** Cumulative probability of each value of the pool */
+    private final double[] poolCdf;
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed seed of all random choices
+     * @param errorRate share of lines to make invalid, from 0 to 1
+     * @param zipf exponent of the Zipf distribution of values,
+     *        or 0 for every line to have a new value
+     * @param distinct how many different values to repeat,
+     *        if zipf is not 0
+     */
+    CorpusGenerator(long seed, double errorRate, double zipf, int distinct){
+        assert (errorRate >= 0 && errorRate <= 1) : "Error rate must be between 0 and 1";
+        this.random = new Random(seed);
+        this.errorRate = errorRate;
+        if (zipf == 0){
+            pool = null;
+            poolCdf = null;
+            return;
+        }
+
+        pool = new int[distinct];
+        poolCdf = new double[distinct];
+        double total = 0;
+        for (int k = 0; k < distinct; k++){
+            pool[k] = randomValue();
+            total += 1 / Math.pow(k + 1, zipf);
+            poolCdf[k] = total;
+        }
+        for (int k = 0; k < distinct; k++){
+            poolCdf[k] /= total;
+        }
+    }
+
+    /** Generates the next line, without its line break */
+    String nextLine(){
+        String line = toWords(nextValue());
+        if (random.nextDouble() >= errorRate){
+            return line;
+        }
+        return spoil(line.split(" "));
+    }
+
+    /** Draws the next value */
+    private int nextValue(){
+        if (pool == null){
+            return randomValue();
+        }
+        int k = Arrays.binarySearch(poolCdf, random.nextDouble());
+        return pool[Math.min((k >= 0) ? k : -k - 1, pool.length - 1)];
+    }
+
+    private int randomValue(){
+        return random.nextInt(2 * MAX_VALUE + 1) - MAX_VALUE;
+    }
+
+    /** Makes a phrase invalid */
+    private String spoil(String[] words){
+        int word = random.nextInt(words.length);
+        switch (random.nextInt(3)){
+            case 0:
+                words[word] = words[word].toUpperCase();
+                break;
+            case 1:
+                words[word] = UNKNOWN[random.nextInt(UNKNOWN.length)];
+                break;
+            default:
+                if (words.length == 1){
+                    // Nothing may follow a lone word like this
+                    return "zero " + words[0];
+                }
+                // No number starts with the second word followed by the first
+                String first = words[0];
+                words[0] = words[1];
+                words[1] = first;
+        }
+        return join(words);
+    }
+
+    /**
+     * Writes a value in the words EnglishNumber reads,
+     * in its canonical form (see {@link CanonicalForm}).
+     *
+     * @param value between -{@link #MAX_VALUE} and {@link #MAX_VALUE}
+     */
+    static String toWords(int value){
+        return CanonicalForm.toString(value);
+    }
+
+    private static String join(String[] words){
+        StringBuilder sb = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++){
+            sb.append(' ').append(words[i]);
+        }
+        return sb.toString();
+    }
+
+    /** Parses a size such as 512M or 2G */
+    private static long parseSize(String s){
+        long unit = 1;
+        char suffix = Character.toUpperCase(s.charAt(s.length() - 1));
+        if (suffix == 'K' || suffix == 'M' || suffix == 'G'){
+            unit = (suffix == 'K') ? 1L << 10 : (suffix == 'M') ? 1L << 20 : 1L << 30;
+            s = s.substring(0, s.length() - 1);
+        }
+        return Long.parseLong(s) * unit;
+    }
+
+    /**
+     * Writes a corpus:
+     * <pre>
+     *   CorpusGenerator [--size N[K|M|G]] [--lines N] [--seed N]
+     *                   [--error-rate R] [--zipf S] [--distinct N] FILE
+     * </pre>
+     * It ends after --size bytes or --lines lines,
+     * whichever is first (by default, 1M lines). If
+     * FILE ends in .gz it is gzip compressed; if it is
+     * "-", the corpus goes to standard out.
+     */
+    public static void main(String[] args) throws IOException {
+        long size = Long.MAX_VALUE;
+        long lines = -1;
+        long seed = 1;
+        double errorRate = 0.01;
+        double zipf = 0;
+        int distinct = 100000;
+        String file = null;
+        try {
+            for (int i = 0; i < args.length; i++){
+                String arg = args[i];
+                if (arg.equals("--size")){
+                    size = parseSize(args[++i]);
+                } else if (arg.equals("--lines")){
+                    lines = Long.parseLong(args[++i]);
+                } else if (arg.equals("--seed")){
+                    seed = Long.parseLong(args[++i]);
+                } else if (arg.equals("--error-rate")){
+                    errorRate = Double.parseDouble(args[++i]);
+                } else if (arg.equals("--zipf")){
+                    zipf = Double.parseDouble(args[++i]);
+                } else if (arg.equals("--distinct")){
+                    distinct = Integer.parseInt(args[++i]);
+                } else if (file == null && (!arg.startsWith("--") || arg.equals("-"))){
+                    file = arg;
+                } else {
+                    throw new IllegalArgumentException(arg);
+                }
+            }
+            if (file == null || errorRate < 0 || errorRate > 1 || zipf < 0 || distinct < 1){
+                throw new IllegalArgumentException();
+            }
+        } catch (RuntimeException e){
+            System.err.println("Usage: CorpusGenerator [--size N[K|M|G]] [--lines N] [--seed N]"
+                    + " [--error-rate R] [--zipf S] [--distinct N] FILE");
+            System.exit(2);
+            return;
+        }
+        if (lines < 0){
+            lines = (size == Long.MAX_VALUE) ? 1000000 : Long.MAX_VALUE;
+        }
+
+        OutputStream raw = file.equals("-") ? System.out : new FileOutputStream(file);
+        if (file.endsWith(".gz")){
+            raw = new GZIPOutputStream(raw, 64 * 1024);
+        }
+        PrintStream out = new PrintStream(new BufferedOutputStream(raw, 64 * 1024), false, "UTF-8");
+        CorpusGenerator generator = new CorpusGenerator(seed, errorRate, zipf, distinct);
+        long written = 0;
+        for (long line = 0; line < lines && written < size; line++){
+            String text = generator.nextLine();
+            out.print(text);
+            out.print('\n');
+            written += text.length() + 1;
+        }
+        out.close();
+        if (out.checkError()){
+            throw new IOException("Could not write " + file);
+        }
+    }
+}
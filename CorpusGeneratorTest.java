@@ -0,0 +1,69 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CorpusGeneratorTest {
+
+	ErrorManager em = ErrorManager.getInstance();
+
+	@Before
+	public void setUp() throws Exception {
+		em.setErrorOutput(new PrintStream(new ByteArrayOutputStream(), true));
+	}
+
+	@Test
+	public void testToWordsParses() {
+		int[] values = {0, 1, 10, 19, 20, 100, 101, 110, 999, 1000, 1001, 20005, 1000000, -513112,
+				CorpusGenerator.MAX_VALUE, -CorpusGenerator.MAX_VALUE};
+		for (int value : values){
+			String words = CorpusGenerator.toWords(value);
+			assertEquals(words, value, EntryPoint.parse(EntryPoint.toWords(words)).toInt());
+		}
+		assertEquals("minus five hundred thirteen thousand one hundred twelve", CorpusGenerator.toWords(-513112));
+	}
+
+	@Test
+	public void testSameSeedSameCorpus() {
+		CorpusGenerator a = new CorpusGenerator(42, 0.1, 1.1, 1000);
+		CorpusGenerator b = new CorpusGenerator(42, 0.1, 1.1, 1000);
+		for (int i = 0; i < 1000; i++){
+			assertEquals(a.nextLine(), b.nextLine());
+		}
+	}
+
+	@Test
+	public void testErrorRate() {
+		CorpusGenerator generator = new CorpusGenerator(7, 0.2, 0, 0);
+		int errors = 0;
+		for (int i = 0; i < 5000; i++){
+			if (EntryPoint.parse(EntryPoint.toWords(generator.nextLine())) == null){
+				errors++;
+			}
+		}
+		assertTrue("Errors: " + errors, errors > 900 && errors < 1100);
+
+		generator = new CorpusGenerator(7, 0, 0, 0);
+		for (int i = 0; i < 1000; i++){
+			assertNotNull(EntryPoint.parse(EntryPoint.toWords(generator.nextLine())));
+		}
+	}
+
+	@Test
+	public void testZipfRepeats() {
+		CorpusGenerator generator = new CorpusGenerator(7, 0, 1.2, 100);
+		Set<String> lines = new HashSet<String>();
+		for (int i = 0; i < 5000; i++){
+			lines.add(generator.nextLine());
+		}
+		assertTrue(lines.size() <= 100);
+	}
+
+}
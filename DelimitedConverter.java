@@ -0,0 +1,290 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts columns of a CSV or TSV file from
+ * English Numbers to their values, copying
+ * everything else as it is.
+ * <p>
+ * The file is scanned a byte at a time, and runs
+ * of bytes outside the converted columns are
+ * written out as they are found, without being
+ * decoded. Only the header and the converted
+ * fields are looked at more closely; fields are
+ * parsed with a {@link BulkParser}, so most do not
+ * become Strings either.
+ * <p>
+ * CSV fields may be quoted, with "" for a quote
+ * inside them, as RFC 4180 has it; TSV fields are
+ * never quoted. Empty fields are left empty. A
+ * field that is not a number is left as it was,
+ * and its error is reported as EntryPoint would
+ * report it.
+ *
+ */
+class DelimitedConverter {
+    /** The ErrorManager */
+    private static ErrorManager em = ErrorManager.getInstance();
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Separates fields */
+    private final byte delimiter;
+    /** Are fields quoted? */
+    private final boolean quoting;
+    /** The columns to convert, by name or number from 1 */
+    private final List<String> columns;
+
+    /** Which columns are converted, by index; set from the header */
+    private boolean[] converted = null;
+    /** Names of the columns, as the header is read */
+    private final List<String> header = new ArrayList<String>();
+
+    /* The field being converted */
+    /** As it is in the input */
+    private byte[] raw = new byte[256];
+    private int rawLength = 0;
+    /** Without its quotes */
+    private byte[] field = new byte[256];
+    private int fieldLength = 0;
+
+    private final BulkParser parser = new BulkParser();
+    private final ByteBuffer result = ByteBuffer.allocate(BulkParser.RECORD_BYTES);
+    /** Digits of a value, from the end */
+    private final byte[] digits = new byte[11];
+
+    /**
+     * @param delimiter what separates fields: ',' for CSV,
+     *        '\t' for TSV
+     * @param columns the columns to convert, by header name
+     *        or by number, counting from 1
+     */
+    DelimitedConverter(byte delimiter, List<String> columns){
+        assert (!columns.isEmpty()) : "Nothing to convert";
+        this.delimiter = delimiter;
+        this.quoting = (delimiter != '\t');
+        this.columns = columns;
+    }
+
+    /**
+     * Copies a file, converting its columns.
+     *
+     * @param in the file, starting with its header
+     * @param to where to write it
+     * @throws IOException if the file cannot be read or written
+     */
+    void convert(InputStream in, OutputStream to) throws IOException {
+        // Many small writes; a PrintStream would flush each one
+        OutputStream out = new BufferedOutputStream(to, BUFFER_SIZE);
+        try {
+            convert(in, out, new byte[BUFFER_SIZE]);
+        } finally {
+            out.flush();
+        }
+    }
+
+    private void convert(InputStream in, OutputStream out, byte[] buffer) throws IOException {
+        int column = 0;
+        boolean inHeader = true;
+        /* Where the field is: at its start, inside quotes, just after a quote in it */
+        boolean fieldStart = true;
+        boolean inQuotes = false;
+        boolean afterQuote = false;
+        /* Is the field being kept, to convert it or to name its column? */
+        boolean keeping = true;
+
+        int read;
+        while ((read = in.read(buffer)) > 0){
+            // Bytes from here on are copied as they are, unless kept
+            int copyFrom = 0;
+            for (int i = 0; i < read; i++){
+                byte b = buffer[i];
+                boolean ends = false;
+                if (inQuotes){
+                    if (b == '"'){
+                        inQuotes = false;
+                        afterQuote = true;
+                    } else if (keeping){
+                        addToField(b);
+                    }
+                } else if (afterQuote && b == '"'){
+                    // "" is a quote
+                    inQuotes = true;
+                    afterQuote = false;
+                    if (keeping){
+                        addToField(b);
+                    }
+                } else if (b == delimiter || b == '\n'){
+                    ends = true;
+                } else {
+                    afterQuote = false;
+                    if (quoting && fieldStart && b == '"'){
+                        inQuotes = true;
+                    } else if (keeping){
+                        addToField(b);
+                    }
+                }
+                fieldStart = ends;
+                if (!ends){
+                    if (keeping){
+                        addToRaw(b);
+                    }
+                    continue;
+                }
+
+                // The field ends at b
+                afterQuote = false;
+                if (keeping){
+                    if (inHeader){
+                        addToRaw(b);
+                        header.add(takeField());
+                        out.write(raw, 0, rawLength);
+                    } else {
+                        writeConverted(out);
+                        out.write(b);
+                    }
+                    rawLength = 0;
+                    fieldLength = 0;
+                } else {
+                    out.write(buffer, copyFrom, i + 1 - copyFrom);
+                }
+                copyFrom = i + 1;
+
+                if (b == '\n'){
+                    if (inHeader){
+                        inHeader = false;
+                        if (!findColumns()){
+                            return;
+                        }
+                    }
+                    column = 0;
+                } else {
+                    column++;
+                }
+                keeping = inHeader || (column < converted.length && converted[column]);
+            }
+            if (!keeping){
+                out.write(buffer, copyFrom, read - copyFrom);
+            }
+        }
+
+        // The last line has no terminator
+        if (keeping && rawLength > 0){
+            if (inHeader){
+                header.add(takeField());
+                out.write(raw, 0, rawLength);
+                findColumns();
+            } else {
+                writeConverted(out);
+            }
+        }
+    }
+
+    /**
+     * Works out which columns are converted, once
+     * the header has been read.
+     *
+     * @return false if a column is not in the header
+     */
+    private boolean findColumns(){
+        converted = new boolean[header.size()];
+        for (String column : columns){
+            int index = header.indexOf(column);
+            if (index < 0 && column.matches("[0-9]+")){
+                index = Integer.parseInt(column) - 1;
+            }
+            if (index < 0 || index >= header.size()){
+                em.error("No column \"%s\" in the header", column);
+                return false;
+            }
+            converted[index] = true;
+        }
+        return true;
+    }
+
+    /** Gets the field, without its quotes or line ending */
+    private String takeField(){
+        int length = fieldLength;
+        if (length > 0 && field[length - 1] == '\r'){
+            length--;
+        }
+        return new String(field, 0, length, UTF_8);
+    }
+
+    /**
+     * Writes the field being converted as its value,
+     * or as it was if it is empty or not a number. A
+     * '\r' that ends the line is kept.
+     */
+    private void writeConverted(OutputStream out) throws IOException {
+        boolean lineEnd = (rawLength > 0 && raw[rawLength - 1] == '\r');
+        if (lineEnd && fieldLength > 0 && field[fieldLength - 1] == '\r'){
+            fieldLength--;
+        }
+
+        if (fieldLength == 0){
+            // No value
+            out.write(raw, 0, rawLength);
+            return;
+        }
+
+        result.clear();
+        ByteBuffer input = ByteBuffer.wrap(field, 0, fieldLength);
+        boolean oneLine = parser.parse(input, result, true) == 1 && !input.hasRemaining();
+        EnglishNumber number = null;
+        if (!oneLine || result.getInt(4) != BulkParser.OK){
+            // BulkParser takes a field that spans lines for more than one number,
+            // and EnglishNumber says what is wrong with a field that is not one
+            number = EntryPoint.parse(EntryPoint.toWords(new String(field, 0, fieldLength, UTF_8)));
+            if (number == null){
+                out.write(raw, 0, rawLength);
+                return;
+            }
+        }
+        writeInt(out, (number != null) ? number.toInt() : result.getInt(0));
+        if (lineEnd){
+            out.write('\r');
+        }
+    }
+
+    /** Writes a value in decimal */
+    private void writeInt(OutputStream out, int value) throws IOException {
+        long magnitude = Math.abs((long) value);
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (value < 0){
+            digits[--start] = '-';
+        }
+        out.write(digits, start, digits.length - start);
+    }
+
+    private void addToRaw(byte b){
+        if (rawLength == raw.length){
+            byte[] bigger = new byte[raw.length * 2];
+            System.arraycopy(raw, 0, bigger, 0, rawLength);
+            raw = bigger;
+        }
+        raw[rawLength++] = b;
+    }
+
+    private void addToField(byte b){
+        if (fieldLength == field.length){
+            byte[] bigger = new byte[field.length * 2];
+            System.arraycopy(field, 0, bigger, 0, fieldLength);
+            field = bigger;
+        }
+        field[fieldLength++] = b;
+    }
+}
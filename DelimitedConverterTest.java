@@ -0,0 +1,77 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DelimitedConverterTest {
+
+	ErrorManager em = ErrorManager.getInstance();
+	ByteArrayOutputStream errors;
+
+	@Before
+	public void setUp() throws Exception {
+		errors = new ByteArrayOutputStream();
+		em.setErrorOutput(new PrintStream(errors, true));
+	}
+
+	private String convert(char delimiter, String input, String... columns) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new DelimitedConverter((byte) delimiter, Arrays.asList(columns))
+				.convert(new ByteArrayInputStream(input.getBytes("UTF-8")), out);
+		return out.toString("UTF-8");
+	}
+
+	@Test
+	public void testConvertsNamedColumn() throws Exception {
+		String input = "id,amount,note\n"
+				+ "1,twenty one,\"a, b\"\n"
+				+ "2,minus five hundred,\u00fcn\u00efcode\n"
+				+ "3,,empty\n"
+				+ "4,ninety";
+		assertEquals("id,amount,note\n"
+				+ "1,21,\"a, b\"\n"
+				+ "2,-500,\u00fcn\u00efcode\n"
+				+ "3,,empty\n"
+				+ "4,90", convert(',', input, "amount"));
+		assertEquals("", errors.toString());
+	}
+
+	@Test
+	public void testColumnsByNumber() throws Exception {
+		String input = "a\tb\tc\r\none\ttwo\tthree\r\n";
+		assertEquals("a\tb\tc\r\n1\ttwo\t3\r\n", convert('\t', input, "1", "3"));
+	}
+
+	@Test
+	public void testQuotedFields() throws Exception {
+		String input = "\"x\",\"y\"\n"
+				+ "\"say \"\"hi\"\"\",\"forty two\"\n"
+				+ "\"multi\nline\",\"seven\"\n";
+		assertEquals("\"x\",\"y\"\n"
+				+ "\"say \"\"hi\"\"\",42\n"
+				+ "\"multi\nline\",7\n", convert(',', input, "y"));
+	}
+
+	@Test
+	public void testErrorsLeaveField() throws Exception {
+		int errorsBefore = em.getErrorCount();
+		String input = "n\nbogus\nten\n\"twenty\nthousand\"\n";
+		assertEquals("n\nbogus\n10\n20000\n", convert(',', input, "n"));
+		assertEquals(1, em.getErrorCount() - errorsBefore);
+		assertTrue(errors.toString().contains("\"bogus\""));
+	}
+
+	@Test
+	public void testMissingColumn() throws Exception {
+		int errorsBefore = em.getErrorCount();
+		convert(',', "a,b\n1,2\n", "c");
+		assertEquals(1, em.getErrorCount() - errorsBefore);
+	}
+}
@@ -4,47 +4,44 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Representation of a number in English.
- * Only supports integers between
+ * Representation of a number in English, or
+ * in any other language with a vocabulary in
+ * TokenTables. Only supports integers between
  * -999999999 and 999999999,
  * inclusive.
  * 
  */
 public class EnglishNumber {
-    /*
-     * IMPORTANT!
-     * Within this class, the wrapper type
-     * Boolean (capital B) is sometimes used as a
-     * triple-valued return type. It means:
-     * 
-     * true - success, we are done parsing
-     * false - failure, we have to stop parsing
-     * null - this routine was successful, but
-     *        we should continue parsing
-     */
-    
     /**
      * The English representation as a set of tokens.
      * Will be null if not initialized properly 
      */
     private List<NumberToken> tokens = null;
-    /** Where in the tokens we are currently parsing */
-    private int position;
+    /** The words the tokens were lexed from */
+    private List<String> words = null;
+    /** Sign and digits, as {@link #apply(TokenType, int, int[])} works them out */
+    private final int[] digits = new int[DIGIT_COUNT];
     
-    /** Is this number negative? */
-    private boolean negative = false;
+    /* Indexes into digits: the sign, then each group's digits */
+    /** 1 if negative, 0 if not */
+    static final int NEGATIVE = 0;
     /** Digits for millions group */
-    private int[] millions  = {0, 0, 0};
+    static final int MILLIONS = 1;
     /** Digits for thousands group */
-    private int[] thousands = {0, 0, 0};
-    /** Digits for units group */
-    private int[] units     = {0, 0, 0};
+    static final int THOUSANDS = 4;
+    /** Digits for units group, and the triplet being parsed */
+    static final int UNITS = 7;
+    /** Size of digits */
+    static final int DIGIT_COUNT = 10;
     
-    /* Digit indexes for the above */
+    /* Digit indexes within a group */
     static final int HUNDREDS_DIG = 0;
     static final int TENS_DIG = 1;
     static final int ONES_DIG = 2;
     
+    /** Most bytes {@link #writeCanonical(byte[], int)} writes */
+    public static final int MAX_CANONICAL_LENGTH = CanonicalForm.MAX_LENGTH;
+    
     /** Error manager */
     private static ErrorManager em = ErrorManager.getInstance();
     /** Cached numeric value */
@@ -66,7 +63,7 @@ public class EnglishNumber {
         if (tokens == null){
             return false;
         }
-        position = 0;
+        words = in;
         
         // Parse
         boolean result = parse();
@@ -102,10 +99,44 @@ public class EnglishNumber {
         if (tokens == null){ return "uninitialized"; }
         
         StringBuilder sb = new StringBuilder();
-        for (NumberToken nt : tokens){
-            sb.append(nt.original + " ");
+        for (String word : words){
+            if (sb.length() > 0){
+                sb.append(' ');
+            }
+            sb.append(word);
         }
-        return sb.toString().trim();
+        return sb.toString();
+    }
+    
+    /**
+     * Writes the canonical English spelling of
+     * this number, in ASCII: "zero" rather than
+     * "naught", "minus" rather than "negative",
+     * whatever language it was in, and with one
+     * space between words. Writes nothing if not
+     * successfully initialized.
+     * 
+     * @param buffer where to write it; must have room for
+     *        {@link #MAX_CANONICAL_LENGTH} bytes after offset
+     * @param offset where in buffer to start
+     * @return the offset after what was written
+     */
+    public int writeCanonical(byte[] buffer, int offset){
+        if (tokens == null){ return offset; }
+        
+        return CanonicalForm.write(numericValue, buffer, offset);
+    }
+    
+    /**
+     * Returns the canonical English spelling of
+     * this number (see {@link #writeCanonical(byte[], int)}),
+     * or "uninitialized" if not successfully
+     * initialized.
+     */
+    public String toCanonicalString(){
+        if (tokens == null){ return "uninitialized"; }
+        
+        return CanonicalForm.toString(numericValue);
     }
     
     /**
@@ -115,21 +146,7 @@ public class EnglishNumber {
      * @return the value of this 
      */
     private int interpetAsInt(){
-        
-        int toReturn = 0;
-        toReturn += millions[HUNDREDS_DIG] * 100 * 1000000;
-        toReturn += millions[TENS_DIG] * 10 * 1000000;
-        toReturn += millions[ONES_DIG] * 1 * 1000000;
-        
-        toReturn += thousands[HUNDREDS_DIG] * 100 * 1000;
-        toReturn += thousands[TENS_DIG] * 10 * 1000;
-        toReturn += thousands[ONES_DIG] * 1 * 1000;
-        
-        toReturn += units[HUNDREDS_DIG] * 100;
-        toReturn += units[TENS_DIG] * 10;
-        toReturn += units[ONES_DIG] * 1;
-        
-        return negative ? -toReturn : toReturn;
+        return valueOf(digits);
     }
     
     /*
@@ -138,7 +155,8 @@ public class EnglishNumber {
     
     /**
      * Converts a list of words to
-     * NumberTokens.
+     * NumberTokens. A word may stand for
+     * more than one token.
      * 
      * @param in
      * @return null if there was a lexing error,
@@ -147,17 +165,13 @@ public class EnglishNumber {
     private static List<NumberToken> toTokens(List<String> in){
         assert (in != null) : "Cannot tokenize a null list";
         
-        List<NumberToken> toReturn = new ArrayList<NumberToken>(in.size()-1);
+        List<NumberToken> toReturn = new ArrayList<NumberToken>(in.size());
         
         for (String s : in){
-            NumberToken toAdd = new NumberToken(s);
-            
-            // If we couldn't create a valid token, return failure
-            if (toAdd.type == null){
+            // If we couldn't lex the word, return failure
+            if (!Lexicon.lex(s, toReturn)){
                 return null;
             }
-            assert(toAdd.value != 0) : "No value should be zero - it should be -1 if N/A";
-            toReturn.add(toAdd);
         }
         
         if (toReturn.size() == 0){
@@ -169,308 +183,140 @@ public class EnglishNumber {
     }
 
     /*
-     * Primary Parsing
-     */
-    
-    /**
-     * Returns the current token without
-     * affecting the token list.
+     * Parsing
      * 
-     * @return null if at end of list,
-     *         the token otherwise
+     * Each language's grammar is a state table in
+     * TokenTables, generated at build time; see
+     * TableGenerator. Which state we are in says
+     * whether a token may come next. What a token
+     * does to the digits only depends on its type.
      */
-    private NumberToken peek(){
-        if (position < tokens.size()){
-            return tokens.get(position);
-        }
-        return null;
-    }
     
     /**
-     * Returns the current token
-     * and advances to the next token.
-     * 
-     * @return null if at end of list,
-     *         the token otherwise
-     */
-    private NumberToken consume(){
-        if (position < tokens.size()){
-            return tokens.get(position++);
-        }
-        return null;
-    }
-    
-    /**
-     * Parses the set of tokens.
+     * Parses the set of tokens, with the grammar
+     * of the first language all of them are in.
      * 
      * @return true iff parsing was successful
      */
     private boolean parse(){
-        // Parse tokens that can only come at the start
-        Boolean success = parseZeroOrMinus();
-        if (success != null){
-            return success;
-        }
-        
-        // Parse the rest of the tokens
-        return parseStart();
-    }
-    
-    /**
-     * Processes tokens that can only occur
-     * at the start of the list, ZERO and MINUS.
-     * 
-     * @return Boolean.True if caller should return success
-     *         Boolean.False if caller should return failure
-     *         null if the caller should continue processing 
-     */
-    private Boolean parseZeroOrMinus(){
-        // Is only token ZERO?
-        if (peek().type == TokenType.ZERO){
-            return consumeZero();
-        }
-        
-        // Is first token MINUS?
-        if (peek().type == TokenType.MINUS){
-            return consumeMinus();
-        }
-        
-        return null;
-    }
-    
-    /**
-     * Given that the next token is ZERO,
-     * consumes it and handles the requirement
-     * that no more tokens must exist.
-     * 
-     * @return whether the parsing was successful
-     */
-    private Boolean consumeZero() {
-        NumberToken zero = consume();
-        // all triplets are already zero
-        
-        if (peek() != null){
-            em.error("After \"%s\", additional token detected: \"%s\"", zero, peek());
-            return false;
-        }
-        return true;
-    }
-    
-    /**
-     * Given that the next token is MINUS,
-     * consumes it and handles the requirement
-     * that more tokens must exist.
-     * 
-     * @return false if parsing has failed, null if it should continue
-     */
-    private Boolean consumeMinus(){
-        NumberToken minus = consume();
-        negative = true;
-        
-        if (peek() == null){
-            em.error("Expected additional tokens after \"%s\"", minus);
-            return false;
-        }
-        return null;
-    }
-    
-    /**
-     * Parses the first set of tokens,
-     * which can be the millions, thousands, or
-     * units based on what we find afterward.
-     * 
-     * @return true iff parsing was successful
-     */
-    private boolean parseStart(){
-        // There MUST be tokens left at the start
-        
-        int[] parsed = parsePrefix();
-        if (parsed == null){
-            // Error parsing
-            return false;
-        }
-        
-        NumberToken next = peek();
-        if (next == null){
-            // Units, can't parse any more
-            units = parsed;
-            return true;
-        } else if (next.type == TokenType.MILLION){
-            // Millions, parse again for thousands and below
-            millions = parsed;
-            consume();
-            return parseAfterMillion();
-        } else if (next.type == TokenType.THOUSAND){
-            // Thousands, parse again for units
-            thousands = parsed;
-            consume();
-            return parseAfterThousand();
-        }
-        
-        em.error("Expected million, thousand, or end-of-file; got \"%s\"", next);
-        return false;
-    }
-    
-    /**
-     * Parses a set of tokens after seeing
-     * MILLION, which can be the thousands or units
-     * based on what we find afterward.
-     * 
-     * @return true iff parsing was successful
-     */
-    private boolean parseAfterMillion(){
-        // If no more tokens, it's still valid
-        if (peek() == null){
-            return true;
-        }
-        
-        int[] parsed = parsePrefix();
-        if (parsed == null){
-            // Error parsing
-            return false;
+        int languages = ~0;
+        NumberToken previous = null;
+        for (NumberToken token : tokens){
+            if ((languages & token.languages) == 0){
+                em.error("\"%s\" is not in the same language as \"%s\"", token, previous);
+                return false;
+            }
+            languages &= token.languages;
+            previous = token;
         }
         
-        NumberToken next = peek();
-        if (next == null){
-            // Units, can't parse any more
-            units = parsed;
-            return true;
-        } else if (next.type == TokenType.THOUSAND){
-            // Thousands, parse again for units
-            thousands = parsed;
-            consume();
-            return parseAfterThousand();
-        }
+        int state = TokenTables.START[Integer.numberOfTrailingZeros(languages)];
+        previous = null;
         
-        em.error("Expected thousand or end-of-file; got \"%s\"", next);
-        return false;
-    }
-    
-    /**
-     * Parses a set of tokens after seeing
-     * THOUSAND, which means this set can only
-     * be units
-     * 
-     * @return true iff parsing was successful
-     */
-    private boolean parseAfterThousand(){
-        // If no more tokens, it's still valid
-        if (peek() == null){
-            return true;
+        for (NumberToken token : tokens){
+            int next = Grammar.next(state, token.type);
+            if (next < 0){
+                String format = TokenTables.ERROR_FORMATS[TokenTables.ERROR_KIND[state]];
+                em.error(format, previous, token);
+                return false;
+            }
+            
+            apply(token.type, token.value, digits);
+            state = next;
+            previous = token;
         }
         
-        int[] parsed = parsePrefix();
-        if (parsed == null){
-            // Error parsing
+        if (!TokenTables.ACCEPTING[state]){
+            em.error("Expected additional tokens after \"%s\"", previous);
             return false;
         }
         
-        if (peek() == null){
-            units = parsed;
-            return true;
-        }
-        
-        System.out.println("Expected end of file; got \"%s\" " + peek());
-        return false;
+        return true;
     }
     
-    /*
-     * Parsing of triplets
-     * (what would be separated by commas in conventional
-     *  American usage)
-     */
-    
     /**
-     * Parse the "prefix" part of a triplet
-     * (e.g., <prefix> thousand).
+     * Applies a token, which the grammar allows
+     * here, to the digits of the number being
+     * parsed. {@link BulkParser} works out values
+     * with this too.
      * 
-     * @return null if there was a parsing error;
-     *         otherwise, a representation of the digits,
-     *         indexed by {@link #HUNDREDS_DIG}, {@link #TENS_DIG},
-     *         and {@link #ONES_DIG}.
+     * @param type the token's type
+     * @param value the token's value
+     * @param digits {@link #DIGIT_COUNT} ints, all 0 before
+     *        the first token: the sign at {@link #NEGATIVE},
+     *        then the digits of the groups at {@link #MILLIONS},
+     *        {@link #THOUSANDS} and {@link #UNITS}, each indexed
+     *        by {@link #HUNDREDS_DIG}, {@link #TENS_DIG} and
+     *        {@link #ONES_DIG}. Digits are parsed into the
+     *        units, and moved up by scale words.
      */
-    private int[] parsePrefix() {
-        assert (peek() != null) : "parsePrefix() can't start at EOF";
-        
-        int[] toReturn = {0, 0, 0};
-        
-        // First, parse a digit, if we begin with one
-        Boolean quitNow = parseFirstDigit(toReturn);
-        if (quitNow == Boolean.TRUE){
-            return toReturn;
-        }
-        
-        // Parse whatever's left
-        switch(peek().type){
-            case NTY:
-                parseNty(toReturn);
+    static void apply(TokenType type, int value, int[] digits){
+        switch (type){
+            case ZERO:
+                // all triplets are already zero
                 break;
-            case TEEN:
-                toReturn[TENS_DIG] = 1;
-                toReturn[ONES_DIG] = consume().value;
+            case MINUS:
+                digits[NEGATIVE] = 1;
                 break;
             case DIGIT:
-                assert(toReturn[HUNDREDS_DIG] != 0) : "We should've parsed this above";
-                toReturn[ONES_DIG] = consume().value;
+                digits[UNITS + ONES_DIG] = value;
+                break;
+            case TEEN:
+                // Added to any tens before it ("soixante-douze")
+                digits[UNITS + TENS_DIG] += 1;
+                digits[UNITS + ONES_DIG] = value;
                 break;
-            default:
-                if (toReturn[HUNDREDS_DIG] == 0){
-                    em.error("Unexpected token: \"%s\"", peek());
-                    return null;
-                }
+            case NTY:
+                digits[UNITS + TENS_DIG] = value;
+                break;
+            case HUNDRED:
+                // The digit before it was in the hundreds place;
+                // if there was none, it is one ("hundert")
+                int ones = digits[UNITS + ONES_DIG];
+                digits[UNITS + HUNDREDS_DIG] = (ones == 0) ? 1 : ones;
+                digits[UNITS + ONES_DIG] = 0;
+                break;
+            case MILLION:
+                scale(digits, MILLIONS);
+                break;
+            case THOUSAND:
+                scale(digits, THOUSANDS);
+                break;
+            case AND:
+                // only joins the digits around it
                 break;
         }
-        
-        return toReturn;
     }
     
     /**
-     * Parse the first digit of a triplet,
-     * if one exists.
-     * 
-     * @param triplet the triplet array to modify
-     * @return true if we are done parsing this triplet,
-     *         null if we should continue
+     * Moves the triplet being parsed up to a
+     * scale word's group. A scale word with
+     * nothing before it stands for one of it ("mil").
      */
-    private Boolean parseFirstDigit(int[] triplet){
-        if (peek().type != TokenType.DIGIT){ return null; }
-        
-        // If we start with a digit, it could either
-        // be the entire triplet or it could be before a HUNDRED
-        int dValue = consume().value;
-        
-        // If next token isn't HUNDRED, this digit is in the one's place
-        if (peek() == null || peek().type != TokenType.HUNDRED){
-            triplet[ONES_DIG] = dValue;
-            return true;
+    private static void scale(int[] digits, int group){
+        if (digits[UNITS + HUNDREDS_DIG] == 0 && digits[UNITS + TENS_DIG] == 0 && digits[UNITS + ONES_DIG] == 0){
+            digits[UNITS + ONES_DIG] = 1;
         }
-        
-        // Otherwise it's in the hundred's place
-        triplet[HUNDREDS_DIG] = dValue;
-        consume(); // HUNDRED consumed
-        
-        // If we're EOF after that, we're done with triplet
-        NumberToken next = peek();
-        if (next == null){
-            return true;
+        for (int d = 0; d < 3; d++){
+            digits[group + d] = digits[UNITS + d];
+            digits[UNITS + d] = 0;
         }
-        
-        return null;
     }
     
     /**
-     * Parses the last two digits of a triplet, given
-     * that the next token is NTY.
-     * 
-     * @param triplet the triplet array to modify
+     * Works out the value of digits that
+     * {@link #apply(TokenType, int, int[])} has
+     * applied every token of a number to.
      */
-    private void parseNty(int[] triplet){
-        assert(peek().type == TokenType.NTY);
-        
-        triplet[TENS_DIG] = consume().value;
-        if (peek() != null && peek().type == TokenType.DIGIT){
-            triplet[ONES_DIG] = consume().value;
+    static int valueOf(int[] digits){
+        int toReturn = 0;
+        for (int group = MILLIONS; group <= UNITS; group += 3){
+            toReturn = toReturn * 1000
+                    + digits[group + HUNDREDS_DIG] * 100
+                    + digits[group + TENS_DIG] * 10
+                    + digits[group + ONES_DIG];
         }
+        return (digits[NEGATIVE] != 0) ? -toReturn : toReturn;
     }
 
 }
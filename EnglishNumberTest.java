@@ -104,4 +104,70 @@ public class EnglishNumberTest {
 				"nine hundred ninety nine million nine hundred ninety nine thousand nine hundred ninety nine", enMillions.toString());
 	}
 
+	/**
+	 * Parses a line of words, as EntryPoint splits them.
+	 */
+	private static EnglishNumber parse(String line) {
+		EnglishNumber number = new EnglishNumber();
+		number.initialize(Arrays.asList(line.split(" ")));
+		return number;
+	}
+
+	@Test
+	public void testOtherLanguages() {
+		assertEquals(21, parse("einundzwanzig").toInt());
+		assertEquals(345, parse("dreihundertf\u00fcnfundvierzig").toInt());
+		assertEquals(1200000, parse("eine Million zweihunderttausend").toInt());
+		assertEquals(101, parse("hundertundeins").toInt());
+		assertEquals(77, parse("soixante-dix-sept").toInt());
+		assertEquals(71, parse("soixante et onze").toInt());
+		assertEquals(-2304, parse("moins deux mille trois cent quatre").toInt());
+		assertEquals(1999, parse("mil novecientos noventa y nueve").toInt());
+		assertEquals(1000021, parse("un mill\u00f3n veintiuno").toInt());
+		assertEquals("soixante et onze", parse("soixante et onze").toString());
+	}
+
+	@Test
+	public void testLanguagesDoNotMix() {
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("one", "mil")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("vingt", "y", "uno")));
+		// English grammar does not have the others' extensions
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("hundred")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("sixty", "twelve")));
+		assertEquals(6, parse("six").toInt());
+	}
+
+	@Test
+	public void testHyphensAndAnd() {
+		assertEquals(21, parse("twenty-one").toInt());
+		assertEquals(-42999, parse("minus forty-two thousand nine hundred ninety-nine").toInt());
+		assertEquals(105, parse("one hundred and five").toInt());
+		assertEquals(2001, parse("two thousand and one").toInt());
+		assertEquals(3000120, parse("three million one hundred and twenty").toInt());
+		assertEquals(2000005, parse("two million and five").toInt());
+		assertEquals(97, parse("quatre-vingt-dix-sept").toInt());
+		assertEquals("twenty-one", parse("twenty-one").toString());
+
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("and", "five")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("one", "and", "five")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("one", "hundred", "and")));
+		// "and" after a scale word only before the last tens or units
+		assertFalse(new EnglishNumber().initialize(EntryPoint.toWords("two million and five thousand")));
+		assertFalse(new EnglishNumber().initialize(EntryPoint.toWords("two million and five hundred thousand")));
+		assertFalse(new EnglishNumber().initialize(EntryPoint.toWords("two thousand and five hundred")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("twenty-")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("twenty--one")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("twentyone")));
+		assertFalse(new EnglishNumber().initialize(Arrays.asList("twenty-mil")));
+	}
+
+	@Test
+	public void testWhitespace() {
+		assertEquals(Arrays.asList("twenty", "one"), EntryPoint.toWords("  twenty \t\tone \r"));
+		assertEquals(Arrays.asList(), EntryPoint.toWords(" \t "));
+		assertEquals(Arrays.asList(), EntryPoint.toWords(""));
+		assertEquals(1021, EntryPoint.parse(EntryPoint.toWords("one  thousand\ttwenty-one ")).toInt());
+		assertNull(EntryPoint.parse(EntryPoint.toWords("  ")));
+	}
+
 }
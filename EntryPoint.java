@@ -1,16 +1,23 @@
 package englishNumbers;
 
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Entry point for English-to-int
  * number parser. Accepts input
- * until standard in closes (^D).
+ * until standard in closes (^D),
+ * or from a file given on the
+ * command line, or from every file
+ * in a directory. Any may be gzip or
+ * zstd compressed.
  * 
  */
 public class EntryPoint {    
@@ -20,10 +27,20 @@ public class EntryPoint {
      * Entry point to English number parser.
      * Exits with the appropriate exit code.
      * 
-     * @param args ignored
+     * @param args options, see {@link Options#USAGE}
      */
     public static void main(String[] args) {
-        run(System.in, System.out, System.err);
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e){
+            em.error("%s", e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(em.getExitCode());
+            return;
+        }
+        
+        run(options, System.out, System.err);
         System.exit(em.getExitCode());
     }
     
@@ -42,23 +59,262 @@ public class EntryPoint {
      */
     public static void run(InputStream input, PrintStream output, PrintStream error){
         em.setErrorOutput(error);
+        try {
+            process(new LineReader(input), output);
+        } catch (IOException e){
+            em.exception(e);
+        }
+    }
+    
+    /**
+     * Parses English Numbers as the given options
+     * say. Like {@link #run(InputStream, PrintStream, PrintStream)},
+     * but can read from and write to files, split
+     * the input between workers, and journal
+     * progress so a run can be resumed.
+     * 
+     * @param options what to parse, and how
+     * @param output where to write the numbers,
+     *        unless the options name an output file
+     */
+    static void run(Options options, PrintStream output, PrintStream error){
+        em.setErrorOutput(error);
+        Lexicon.setMaxEdits(options.maxEdits);
+        Lexicon.setSegmenting(options.segment);
+        try {
+            if (!canSeek(options)){
+                em.error("Compressed input cannot be split or journaled: \"%s\"", options.input);
+                return;
+            }
+            
+            if (options.journal != null){
+                new JournaledRunner(options.input, options.output, options.journal).run();
+            } else if (options.output != null){
+                PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(options.output)));
+                try {
+                    parse(options, out);
+                } finally {
+                    out.close();
+                }
+            } else {
+                parse(options, output);
+                output.flush();
+            }
+        } catch (IOException e){
+            em.exception(e);
+        } catch (InterruptedException e){
+            em.exception(e);
+        }
+    }
+    
+    /** Parses the input the options name, in the way they say */
+    private static void parse(Options options, PrintStream output) throws IOException, InterruptedException {
+        if (options.files != null){
+            new MultiFileRunner(options.files, options.workers, options.outputDirectory, options.aggregate).run(output);
+        } else if (options.workers > 1){
+            new SplitRunner(options.input, options.workers, options.separateJvms, options.aggregate).run(output);
+        } else if (options.range != null){
+            Aggregate aggregate = options.aggregate ? new Aggregate() : null;
+            SplitRunner.runRange(options.input, options.range, output, aggregate);
+            if (aggregate != null){
+                aggregate.print(output);
+            }
+        } else {
+            InputStream raw = (options.input != null) ? new FileInputStream(options.input) : System.in;
+            InputStream in = CompressedInput.open(raw, options.decompressThreads);
+            ValueIndexWriter index = (options.index != null) ? new ValueIndexWriter(options.index) : null;
+            boolean complete = false;
+            try {
+                if (options.columns != null){
+                    new DelimitedConverter(options.delimiter, options.columns).convert(in, output);
+                } else if (options.canonical){
+                    canonical(new LineReader(in), output);
+                } else if (options.aggregate){
+                    Aggregate aggregate = new Aggregate();
+                    aggregate(new LineReader(in), aggregate, index);
+                    aggregate.print(output);
+                } else if (index != null){
+                    process(new LineReader(in), output, index);
+                } else {
+                    process(new LineReader(in), output);
+                }
+                complete = true;
+            } finally {
+                // Only an index of all the input is finished
+                if (index != null && complete){
+                    index.close();
+                } else if (index != null){
+                    index.abort();
+                }
+                in.close();
+            }
+        }
+    }
+    
+    /**
+     * Splitting and journaling work with byte
+     * offsets into the input, so it must not
+     * be compressed.
+     * 
+     * @return false if the options need offsets into compressed input
+     */
+    private static boolean canSeek(Options options) throws IOException {
+        if (options.files != null){
+            // Each file is checked before it is split
+            return true;
+        }
+        boolean seeks = options.workers > 1 || options.range != null || options.journal != null;
+        return !seeks || CompressedInput.detect(options.input) == CompressedInput.Format.PLAIN;
+    }
+    
+    /**
+     * Parses each line from the reader as
+     * an English Number.
+     * 
+     * @param in where to read lines from
+     * @param output where to write the numbers
+     * @throws IOException if the input cannot be read
+     */
+    static void process(LineReader in, PrintStream output) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null){
+            parseLine(line, output);
+        }
+    }
+    
+    /**
+     * Parses each line from the reader as
+     * an English Number, also recording
+     * each line's value in an index.
+     * 
+     * @param in where to read lines from
+     * @param output where to write the numbers
+     * @param index where to record the values
+     * @throws IOException if the input cannot be read
+     *         or the index cannot be written
+     */
+    static void process(LineReader in, PrintStream output, ValueIndexWriter index) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null){
+            EnglishNumber number = parseLine(line, output);
+            index.add((number != null) ? number.toInt() : ValueIndex.NO_VALUE);
+        }
+    }
+    
+    /**
+     * Parses each line from the reader as
+     * an English Number, folding the values
+     * into an aggregate instead of writing them.
+     * 
+     * @param in where to read lines from
+     * @param into where to add the values
+     * @param index where to record the values as well,
+     *        or null to not record them
+     * @throws IOException if the input cannot be read
+     *         or the index cannot be written
+     */
+    static void aggregate(LineReader in, Aggregate into, ValueIndexWriter index) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null){
+            EnglishNumber number = parse(toWords(line));
+            if (number != null){
+                into.add(number.toInt());
+            } else {
+                into.addError();
+            }
+            if (index != null){
+                index.add((number != null) ? number.toInt() : ValueIndex.NO_VALUE);
+            }
+        }
+    }
+    
+    /**
+     * Parses each line from the reader as
+     * an English Number, writing its canonical
+     * spelling (see {@link EnglishNumber#writeCanonical})
+     * on a line of its own. Lines that cannot be
+     * parsed are reported, and written as empty
+     * lines, so that each output line is the
+     * spelling of the input line at the same place.
+     * 
+     * @param in where to read lines from
+     * @param output where to write the spellings
+     * @throws IOException if the input cannot be read
+     *         or the output cannot be written
+     */
+    static void canonical(LineReader in, OutputStream output) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        int length = 0;
+        String line;
+        while ((line = in.readLine()) != null){
+            EnglishNumber number = parse(toWords(line));
+            if (length + EnglishNumber.MAX_CANONICAL_LENGTH + 1 > buffer.length){
+                output.write(buffer, 0, length);
+                length = 0;
+            }
+            if (number != null){
+                length = number.writeCanonical(buffer, length);
+            }
+            buffer[length++] = '\n';
+        }
+        output.write(buffer, 0, length);
+    }
+    
+    /**
+     * Parses one line as an English Number,
+     * writing its value if successful.
+     * 
+     * @param line the line to parse
+     * @param output where to write the number
+     * @return the number, or null if the line
+     *         could not be parsed
+     */
+    static EnglishNumber parseLine(String line, PrintStream output){
+        List<String> words = toWords(line);
+        output.println(words.toString());
         
-        // Get the words from standard in
+        EnglishNumber theNumber = parse(words);
+        if (theNumber != null){
+            output.println(theNumber.toInt());
+        }
+        return theNumber;
+    }
+    
+    /**
+     * Gets the words from a line: whatever is
+     * between runs of whitespace (spaces, tabs and
+     * the like), in one pass over it.
+     */
+    static List<String> toWords(String line){
         List<String> words = new ArrayList<String>();
-        Scanner in = new Scanner(input);
-        while (in.hasNextLine()){
-            String[] toAdd = in.nextLine().split("\\s");
-            words = Arrays.asList(toAdd);   
-        
-        
-            output.println(words.toString());
-	         
-	        // Create a number and use the words to initialize
-	        EnglishNumber theNumber = new EnglishNumber();
-	        boolean success = theNumber.initialize(words);
-	        if (success){
-	            output.println(theNumber.toInt());
-	        }
+        int start = -1;
+        for (int i = 0; i <= line.length(); i++){
+            boolean space = (i == line.length()) || isWhitespace(line.charAt(i));
+            if (space && start >= 0){
+                words.add(line.substring(start, i));
+                start = -1;
+            } else if (!space && start < 0){
+                start = i;
+            }
         }
+        return words;
+    }
+    
+    /** Is a character whitespace, as regular expressions' \s? */
+    private static boolean isWhitespace(char c){
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0b || c == '\f' || c == '\r';
+    }
+    
+    /**
+     * Parses words as an English Number.
+     * 
+     * @return the number, or null if the words
+     *         could not be parsed
+     */
+    static EnglishNumber parse(List<String> words){
+        // Create a number and use the words to initialize
+        EnglishNumber theNumber = new EnglishNumber();
+        boolean success = theNumber.initialize(words);
+        return success ? theNumber : null;
     }
 }
@@ -1,6 +1,11 @@
 package englishNumbers;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A singleton for managing errors during English-to-number
@@ -24,8 +29,10 @@ class ErrorManager {
     
     /** Where to display error messages */
     private PrintStream stderr = System.err;
-    /** Number of error and exception messages written */
-    private int errorsWritten = 0;
+    /** Per-thread override of {@link #stderr}, for parallel workers */
+    private final ThreadLocal<PrintStream> workerStderr = new ThreadLocal<PrintStream>();
+    /** Number of error and exception messages written, by all threads */
+    private final AtomicInteger errorsWritten = new AtomicInteger();
 
     /** Creates the singleton */
     private ErrorManager(){ }
@@ -46,6 +53,78 @@ class ErrorManager {
         this.stderr = stderr;
     }
     
+    /**
+     * Sets the stream to which error messages
+     * from the calling thread should go, until
+     * {@link #clearWorkerErrorOutput()} is called.
+     * Errors are still counted towards the
+     * exit code.
+     * 
+     * @param stderr the stream to direct this thread's error messages
+     */
+    void setWorkerErrorOutput(PrintStream stderr){
+        assert (stderr != null) : "Cannot set the error output stream to null";
+        workerStderr.set(stderr);
+    }
+    
+    /**
+     * Directs error messages from the calling
+     * thread back to the shared error output.
+     */
+    void clearWorkerErrorOutput(){
+        workerStderr.remove();
+    }
+    
+    /**
+     * Copies error output that a worker wrote
+     * elsewhere to the error output.
+     * 
+     * @param workerErrors the worker's error output
+     * @param count whether to count the worker's errors;
+     *        false if it ran in this JVM, where they
+     *        were counted as they were written
+     * @return the number of errors found
+     * @throws IOException if workerErrors cannot be read
+     */
+    int relay(InputStream workerErrors, boolean count) throws IOException {
+        return relay(workerErrors, count, "");
+    }
+    
+    /**
+     * Like {@link #relay(InputStream, boolean)}, but
+     * writes a tag, such as the name of the input the
+     * worker read, before each line.
+     * 
+     * @param workerErrors the worker's error output
+     * @param count whether to count the worker's errors
+     * @param tag what to write before each line
+     * @return the number of errors found
+     * @throws IOException if workerErrors cannot be read
+     */
+    int relay(InputStream workerErrors, boolean count, String tag) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(workerErrors));
+        PrintStream out = getErrorOutput();
+        int found = 0;
+        String line;
+        while ((line = in.readLine()) != null){
+            if (line.startsWith(preErr)){
+                found++;
+            }
+            out.println(tag + line);
+        }
+        out.flush();
+        if (count){
+            errorsWritten.addAndGet(found);
+        }
+        return found;
+    }
+    
+    /** Where the calling thread's messages should go */
+    private PrintStream getErrorOutput(){
+        PrintStream worker = workerStderr.get();
+        return (worker != null) ? worker : stderr;
+    }
+    
     /**
      * Writes the given message to the error
      * output, as an error.
@@ -55,8 +134,8 @@ class ErrorManager {
      */
     void error(String format, Object... args) {
         String message = String.format(format, args);
-        stderr.println(preErr + message);
-        errorsWritten++;
+        getErrorOutput().println(preErr + message);
+        errorsWritten.incrementAndGet();
     }
     
     /**
@@ -69,10 +148,11 @@ class ErrorManager {
     void exception(Exception e){
         assert (e != null);
         
-        stderr.print(preErr + preInternal);
+        PrintStream out = getErrorOutput();
+        out.print(preErr + preInternal);
         // Message printed with this call
-        e.printStackTrace(stderr);
-        errorsWritten++;
+        e.printStackTrace(out);
+        errorsWritten.incrementAndGet();
     }
     
     /**
@@ -83,9 +163,25 @@ class ErrorManager {
         stderr.close();
     }
     
+    /**
+     * Counts errors that were reported by an
+     * earlier run, such as one being resumed.
+     * 
+     * @param count the number of errors to add
+     */
+    void addErrors(int count){
+        assert (count >= 0) : "Cannot remove errors";
+        errorsWritten.addAndGet(count);
+    }
+    
+    /** Number of errors written so far, by all threads */
+    int getErrorCount(){
+        return errorsWritten.get();
+    }
+    
     /** Separated for testing */
     int getExitCode(){
-        return (errorsWritten > 0) ? EXIT_ERR : EXIT_OK;
+        return (errorsWritten.get() > 0) ? EXIT_ERR : EXIT_OK;
     }
     
 }
@@ -0,0 +1,67 @@
+package englishNumbers;
+
+import java.util.List;
+
+/**
+ * Steps through the grammar state tables in
+ * TokenTables. Each language's states are numbered
+ * together, from its START state up to the next
+ * language's.
+ *
+ */
+final class Grammar {
+    /** The language of each state */
+    private static final int[] LANGUAGE_OF = new int[TokenTables.STATE_NAMES.length];
+
+    static {
+        for (int language = 0; language < TokenTables.START.length; language++){
+            int start = TokenTables.START[language];
+            for (int state = start; state < start + stateCount(language); state++){
+                LANGUAGE_OF[state] = language;
+            }
+        }
+    }
+
+    private Grammar(){ }
+
+    /**
+     * Gets the state after a token.
+     *
+     * @param state the state before it
+     * @param type the token's type
+     * @return the next state, or -1 if the token
+     *         cannot come next
+     */
+    static int next(int state, TokenType type){
+        return TokenTables.NEXT[state * TokenTables.TYPE_NAMES.length + type.ordinal()];
+    }
+
+    /**
+     * Runs tokens through a language's grammar.
+     *
+     * @param state the state before them, or -1
+     * @param language index into TokenTables.LANGUAGES
+     * @param tokens the tokens
+     * @return the state after them, or -1 if the
+     *         language does not have them there
+     */
+    static int step(int state, int language, List<NumberToken> tokens){
+        for (int t = 0; t < tokens.size() && state >= 0; t++){
+            NumberToken token = tokens.get(t);
+            state = ((token.languages & (1 << language)) != 0) ? next(state, token.type) : -1;
+        }
+        return state;
+    }
+
+    /** The language whose grammar a state is in */
+    static int language(int state){
+        return LANGUAGE_OF[state];
+    }
+
+    /** Number of states in a language's grammar */
+    static int stateCount(int language){
+        int end = (language + 1 < TokenTables.START.length)
+                ? TokenTables.START[language + 1] : TokenTables.STATE_NAMES.length;
+        return end - TokenTables.START[language];
+    }
+}
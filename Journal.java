@@ -0,0 +1,159 @@
+package englishNumbers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Durable record of how far a run has got, so
+ * that it can be resumed after it is killed.
+ * <p>
+ * The journal holds two fixed-size slots, written
+ * alternately. Each checkpoint overwrites the older
+ * slot and is forced to disk, so a crash while
+ * writing one leaves the other intact. A slot
+ * holds a sequence number, the checkpoint itself,
+ * and a CRC32 of both, so a torn slot is ignored.
+ *
+ */
+class Journal {
+    /** Marks a slot as written by this class */
+    private static final int MAGIC = 0x454e4a31;
+    /** magic, sequence, input offset, output offset, errors, CRC */
+    private static final int SLOT_SIZE = 4 + 8 + 8 + 8 + 8 + 8;
+
+    /** The journal file */
+    private final File file;
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    /** Reused for reading and writing slots */
+    private final ByteBuffer slot = ByteBuffer.allocate(SLOT_SIZE);
+
+    /** Sequence number of the newest checkpoint */
+    private long sequence = 0;
+    /** The newest checkpoint, or null if none */
+    private Checkpoint last = null;
+
+    /**
+     * Opens a journal, creating it if it
+     * does not exist.
+     *
+     * @param file the journal file
+     * @throws IOException if it cannot be opened
+     */
+    Journal(File file) throws IOException {
+        this.file = file;
+        this.raf = new RandomAccessFile(file, "rw");
+        this.channel = raf.getChannel();
+
+        for (int i = 0; i < 2; i++){
+            readSlot(i);
+        }
+    }
+
+    /**
+     * Gets the newest checkpoint.
+     *
+     * @return null if nothing has been recorded yet
+     */
+    Checkpoint getLastCheckpoint(){
+        return last;
+    }
+
+    /**
+     * Durably records a checkpoint. Whatever
+     * it refers to must already be on disk.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    void record(Checkpoint checkpoint) throws IOException {
+        sequence++;
+
+        slot.clear();
+        slot.putInt(MAGIC);
+        slot.putLong(sequence);
+        slot.putLong(checkpoint.inputOffset);
+        slot.putLong(checkpoint.outputOffset);
+        slot.putLong(checkpoint.errors);
+        slot.putLong(checksum(slot.array(), SLOT_SIZE - 8));
+        slot.flip();
+
+        long position = (sequence % 2) * SLOT_SIZE;
+        while (slot.hasRemaining()){
+            position += channel.write(slot, position);
+        }
+        channel.force(false);
+        last = checkpoint;
+    }
+
+    /** Closes the journal, leaving it to resume from */
+    void close() throws IOException {
+        raf.close();
+    }
+
+    /**
+     * Closes and deletes the journal, once
+     * the run it records is complete.
+     */
+    void delete() throws IOException {
+        close();
+        if (!file.delete()){
+            throw new IOException("Could not delete journal " + file);
+        }
+    }
+
+    /** Reads a slot, keeping it if it is the newest valid one */
+    private void readSlot(int index) throws IOException {
+        slot.clear();
+        long position = index * SLOT_SIZE;
+        while (slot.hasRemaining()){
+            int read = channel.read(slot, position + slot.position());
+            if (read < 0){
+                return;
+            }
+        }
+
+        slot.flip();
+        if (slot.getInt() != MAGIC){
+            return;
+        }
+        long seq = slot.getLong();
+        Checkpoint checkpoint = new Checkpoint(slot.getLong(), slot.getLong(), slot.getLong());
+        if (slot.getLong() != checksum(slot.array(), SLOT_SIZE - 8)){
+            return;
+        }
+
+        if (seq > sequence){
+            sequence = seq;
+            last = checkpoint;
+        }
+    }
+
+    private static long checksum(byte[] bytes, int length){
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+
+    /**
+     * How far a run had got: everything before these
+     * offsets was completely parsed and written.
+     */
+    static class Checkpoint {
+        /** Bytes of input parsed */
+        final long inputOffset;
+        /** Bytes of output written */
+        final long outputOffset;
+        /** Errors reported so far */
+        final long errors;
+
+        Checkpoint(long inputOffset, long outputOffset, long errors){
+            this.inputOffset = inputOffset;
+            this.outputOffset = outputOffset;
+            this.errors = errors;
+        }
+    }
+}
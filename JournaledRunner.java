@@ -0,0 +1,137 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Parses a file into another file, recording
+ * progress in a {@link Journal}. If the run is
+ * killed, running it again with the same journal
+ * picks up from the last checkpoint instead of
+ * starting over: the output is cut back to what
+ * the checkpoint covers, and parsing continues
+ * from the matching input offset.
+ * <p>
+ * Checkpoints are taken every so many bytes of
+ * input or so much time, whichever comes first.
+ * Each costs two fsyncs (output, then journal),
+ * so they are spread out far enough that their
+ * cost disappears into the run. Lines after the
+ * last checkpoint are parsed again on resume.
+ *
+ */
+class JournaledRunner {
+    /** Input between checkpoints */
+    static final long CHECKPOINT_BYTES = 64L * 1024 * 1024;
+    /** Time between checkpoints */
+    static final long CHECKPOINT_NANOS = 5L * 1000 * 1000 * 1000;
+    /** Lines between looking at the clock */
+    private static final int CLOCK_LINES = 4096;
+
+    /** The ErrorManager */
+    private static ErrorManager em = ErrorManager.getInstance();
+
+    private final File input;
+    private final File output;
+    private final File journalFile;
+
+    /**
+     * @param input the file to parse
+     * @param output the file to write the numbers to
+     * @param journal where to record progress
+     */
+    JournaledRunner(File input, File output, File journal){
+        this.input = input;
+        this.output = output;
+        this.journalFile = journal;
+    }
+
+    /**
+     * Parses the input, resuming from the
+     * journal if it records an earlier run.
+     * The journal is deleted once done.
+     *
+     * @throws IOException if a file cannot be read or written
+     */
+    void run() throws IOException {
+        Journal journal = new Journal(journalFile);
+        Journal.Checkpoint start = journal.getLastCheckpoint();
+        if (start == null){
+            start = new Journal.Checkpoint(0, 0, 0);
+        }
+
+        try {
+            parse(journal, start);
+        } finally {
+            // Kept for the next run to resume from, unless deleted below
+            journal.close();
+        }
+        journal.delete();
+    }
+
+    /** Parses the input from the given checkpoint on */
+    private void parse(Journal journal, Journal.Checkpoint start) throws IOException {
+        FileInputStream in = new FileInputStream(input);
+        FileOutputStream outFile = new FileOutputStream(output, true);
+        try {
+            // Go back to where the checkpoint left off
+            FileChannel outChannel = outFile.getChannel();
+            if (outChannel.size() < start.outputOffset){
+                throw new IOException("Output " + output + " is shorter than journal " + journalFile + " says");
+            }
+            outChannel.truncate(start.outputOffset);
+            in.getChannel().position(start.inputOffset);
+            em.addErrors((int) start.errors);
+            int errorsBefore = em.getErrorCount() - (int) start.errors;
+
+            LineReader reader = new LineReader(in);
+            PrintStream out = new PrintStream(new BufferedOutputStream(outFile, 64 * 1024));
+
+            long nextBytes = CHECKPOINT_BYTES;
+            long nextTime = System.nanoTime() + CHECKPOINT_NANOS;
+            int lines = 0;
+            String line;
+            while ((line = reader.readLine()) != null){
+                EntryPoint.parseLine(line, out);
+
+                boolean due = reader.getPosition() >= nextBytes;
+                if (!due && ++lines % CLOCK_LINES == 0){
+                    due = System.nanoTime() >= nextTime;
+                }
+                if (due){
+                    checkpoint(journal, out, outChannel, start.inputOffset + reader.getPosition(), errorsBefore);
+                    nextBytes = reader.getPosition() + CHECKPOINT_BYTES;
+                    nextTime = System.nanoTime() + CHECKPOINT_NANOS;
+                }
+            }
+
+            out.flush();
+            if (out.checkError()){
+                throw new IOException("Could not write to " + output);
+            }
+            outChannel.force(false);
+        } finally {
+            outFile.close();
+            in.close();
+        }
+    }
+
+    /**
+     * Makes everything written so far durable,
+     * then records that it is.
+     */
+    private void checkpoint(Journal journal, PrintStream out, FileChannel outChannel,
+            long inputOffset, int errorsBefore) throws IOException {
+        out.flush();
+        if (out.checkError()){
+            throw new IOException("Could not write to " + output);
+        }
+        outChannel.force(false);
+        journal.record(new Journal.Checkpoint(inputOffset, outChannel.size(), em.getErrorCount() - errorsBefore));
+    }
+}
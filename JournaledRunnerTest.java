@@ -0,0 +1,106 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournaledRunnerTest {
+
+	static final String HEAD =
+			"one\n" +
+			"bogus\n" +
+			"two thousand five\n";
+	static final String TAIL =
+			"minus five\n" +
+			"Nine\n" +
+			"sixty seven\n";
+
+	File input, output, journal;
+
+	@Before
+	public void setUp() throws Exception {
+		input = File.createTempFile("JournaledRunnerTest", ".in");
+		output = File.createTempFile("JournaledRunnerTest", ".out");
+		journal = File.createTempFile("JournaledRunnerTest", ".journal");
+		input.deleteOnExit();
+		output.deleteOnExit();
+		journal.deleteOnExit();
+		write(input, (HEAD + TAIL).getBytes("US-ASCII"));
+		ErrorManager.getInstance().setErrorOutput(new PrintStream(new ByteArrayOutputStream(), true));
+	}
+
+	@Test
+	public void testFreshRun() throws Exception {
+		journal.delete();
+		new JournaledRunner(input, output, journal).run();
+		assertEquals("Output differs from a plain run", parse(HEAD + TAIL), read(output));
+		assertFalse("Journal should be deleted when done", journal.exists());
+	}
+
+	@Test
+	public void testResume() throws Exception {
+		// As if killed after HEAD was checkpointed, and part of TAIL written
+		String headOutput = parse(HEAD);
+		String expected = parse(HEAD + TAIL);
+		write(output, (headOutput + "[minus, fi").getBytes("US-ASCII"));
+		journal.delete();
+		Journal j = new Journal(journal);
+		j.record(new Journal.Checkpoint(HEAD.length(), headOutput.length(), 1));
+		j.close();
+
+		ErrorManager em = ErrorManager.getInstance();
+		int errorsBefore = em.getErrorCount();
+		new JournaledRunner(input, output, journal).run();
+
+		assertEquals("Resumed output differs from a plain run", expected, read(output));
+		assertEquals("Errors before the checkpoint should still count", 2, em.getErrorCount() - errorsBefore);
+	}
+
+	@Test
+	public void testNewestCheckpointWins() throws Exception {
+		journal.delete();
+		Journal j = new Journal(journal);
+		for (int i = 1; i <= 5; i++){
+			j.record(new Journal.Checkpoint(i, i * 10, i * 100));
+		}
+		j.close();
+
+		Journal.Checkpoint last = new Journal(journal).getLastCheckpoint();
+		assertEquals(5, last.inputOffset);
+		assertEquals(50, last.outputOffset);
+		assertEquals(500, last.errors);
+	}
+
+	static String parse(String in) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		EntryPoint.run(new ByteArrayInputStream(in.getBytes("US-ASCII")),
+				new PrintStream(out, true), new PrintStream(new ByteArrayOutputStream(), true));
+		return out.toString();
+	}
+
+	static void write(File file, byte[] bytes) throws Exception {
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(bytes);
+		out.close();
+	}
+
+	static String read(File file) throws Exception {
+		FileInputStream in = new FileInputStream(file);
+		byte[] bytes = new byte[(int) file.length()];
+		int read = 0;
+		while (read < bytes.length){
+			read += in.read(bytes, read, bytes.length - read);
+		}
+		in.close();
+		return new String(bytes, "US-ASCII");
+	}
+
+}
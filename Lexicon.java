@@ -0,0 +1,614 @@
+package englishNumbers;
+
+import java.util.List;
+
+/**
+ * Turns words into {@link NumberToken}s, looking
+ * them up in the vocabularies of every language at
+ * once: they are all compiled into TokenTables,
+ * as one lookup of whole words and one trie.
+ * <p>
+ * Each token says which languages it could be
+ * from, and a number must keep to one of them;
+ * see {@link EnglishNumber}.
+ * <p>
+ * Misspelled words may be tolerated (see
+ * {@link #setMaxEdits(int)}): then a word that is
+ * not in any vocabulary is taken for the one word
+ * closest to it, by walking the trie with the rows
+ * of a Levenshtein distance table. Branches that
+ * are already too far away are never followed, so
+ * only a small part of the trie is looked at.
+ *
+ */
+final class Lexicon {
+    /** The trie's root node */
+    static final int ROOT = 0;
+
+    /** The ErrorManager */
+    private static ErrorManager em = ErrorManager.getInstance();
+
+    /** Longest word that is split; no number is written longer */
+    static final int MAX_SEGMENTED_LENGTH = 256;
+
+    /** Length of the longest word of any vocabulary */
+    private static final int LONGEST_WORD;
+
+    static {
+        int longest = 0;
+        for (String word : TokenTables.WORDS){
+            longest = Math.max(longest, word.length());
+        }
+        LONGEST_WORD = longest;
+    }
+
+    /** Most edits allowed to a misspelled word; 0 if they are errors */
+    private static volatile int maxEdits = 0;
+    /** May words of any language be run together? */
+    private static volatile boolean segmenting = false;
+
+    private Lexicon(){ }
+
+    /* What looking up a word found */
+    /** The word's tokens */
+    static final int FOUND = 0;
+    /** Misspelled, and close to words that mean different things */
+    static final int AMBIGUOUS = 1;
+    /** Nothing */
+    static final int NOT_FOUND = 2;
+
+    /**
+     * Lexes a word, reporting an error if it is not
+     * one, nor a compound of words of a language that
+     * writes numbers that way.
+     *
+     * @param word the word
+     * @param out the tokens of the number before the
+     *        word; its tokens are added
+     * @return true iff it was lexed
+     */
+    static boolean lex(String word, List<NumberToken> out){
+        switch (lookUp(word, out)){
+            case FOUND:
+                return true;
+            case AMBIGUOUS:
+                em.error("Could be more than one word: \"%s\"", word);
+                return false;
+            default:
+                if (!word.equals(word.toLowerCase())){
+                    em.error("Should be all lower-case: \"%s\"", word);
+                } else {
+                    em.error("Not recognized as a valid word: \"%s\"", word);
+                }
+                return false;
+        }
+    }
+
+    /**
+     * Lexes a word like {@link #lex(String, List)},
+     * but reports no errors.
+     *
+     * @param word the word
+     * @param out the tokens of the number before the
+     *        word; its tokens are added
+     * @return {@link #FOUND}, {@link #AMBIGUOUS} or
+     *         {@link #NOT_FOUND}
+     */
+    static int lookUp(String word, List<NumberToken> out){
+        if (lexExact(word, out)){
+            return FOUND;
+        }
+        int edits = editsAllowed(word.length());
+        // Deleting fewer characters than that leaves it longer than any word;
+        // and words that are not lower-case are errors, however close
+        if (edits > 0 && word.length() <= LONGEST_WORD + edits && word.equals(word.toLowerCase())){
+            Correction correction = new Correction(word, edits);
+            correction.search(ROOT, 1);
+            if (correction.ambiguous){
+                return AMBIGUOUS;
+            }
+            if (correction.word >= 0){
+                addTokens(correction.word, word, correction.languages, out);
+                return FOUND;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Lexes a word that is spelled exactly, as one
+     * word, a compound, or words joined by hyphens
+     * ("twenty-one"). Reports no errors.
+     *
+     * @param word the word
+     * @param out the tokens of the number before the
+     *        word, which may decide how a compound is
+     *        split; its tokens are added
+     * @return true iff it was lexed
+     */
+    static boolean lexExact(String word, List<NumberToken> out){
+        if (lexParts(word, 0, 0, ROOT, out)){
+            return true;
+        }
+        return (segmenting || TokenTables.COMPOUNDING != 0) && segment(word, out);
+    }
+
+    /**
+     * Walks the trie along a word, as one word or as
+     * words joined by hyphens, and adds their tokens.
+     * A hyphen is taken as part of a word that goes
+     * on with it ("dix-sept"), if the rest of the word
+     * can then be lexed, and otherwise as the end of
+     * a part ("vingt-deux").
+     *
+     * @param start where the part being walked starts
+     * @param from where the walk goes on from
+     * @param node the node of word[start, from)
+     * @return true iff it was lexed; if not, no
+     *         tokens are added
+     */
+    private static boolean lexParts(String word, int start, int from, int node, List<NumberToken> out){
+        for (int i = from; i < word.length(); i++){
+            char c = word.charAt(i);
+            int found;
+            if (c == '-' && (found = wordAt(node)) >= 0 && i + 1 < word.length()){
+                int longer = child(node, c);
+                if (longer >= 0 && lexParts(word, start, i + 1, longer, out)){
+                    return true;
+                }
+                int size = out.size();
+                addTokens(found, word.substring(start, i), TokenTables.WORD_LANGUAGES[found], out);
+                if (lexParts(word, i + 1, i + 1, ROOT, out)){
+                    return true;
+                }
+                out.subList(size, out.size()).clear();
+                return false;
+            }
+            node = child(node, c);
+            if (node < 0){
+                return false;
+            }
+        }
+        int found = wordAt(node);
+        if (found < 0){
+            return false;
+        }
+        addTokens(found, (start == 0) ? word : word.substring(start), TokenTables.WORD_LANGUAGES[found], out);
+        return true;
+    }
+
+    /**
+     * Splits a word into words of one language, in
+     * a way its grammar allows after the tokens
+     * before it: "seventeen" rather than "seven teen",
+     * when a teen cannot come next.
+     * <p>
+     * Every language is split at once: each grammar
+     * state belongs to one language, so a table of which
+     * states can be reached after each character of the
+     * word, with the fewest parts, covers them all. From
+     * each reachable character, the trie is walked once
+     * to find the words starting there, so this takes
+     * time in proportion to the word's length.
+     * <p>
+     * Only languages that compound, or all of them when
+     * segmenting, are split; their parts may also be
+     * joined by hyphens ("dreihundert-eins").
+     * <p>
+     * A split that could end the number is taken over
+     * one that could not, then one of an earlier language.
+     * <p>
+     * Words that no word starts, or that are longer than
+     * {@link #MAX_SEGMENTED_LENGTH}, are not tried.
+     *
+     * @param word the word
+     * @param out the tokens before it; its own are added
+     * @return true iff it was split
+     */
+    private static boolean segment(String word, List<NumberToken> out){
+        if (word.length() > MAX_SEGMENTED_LENGTH || !startsWithWord(word)){
+            return false;
+        }
+        int runTogether = segmenting ? ~0 : TokenTables.COMPOUNDING;
+        Split split = new Split(word, runTogether);
+        boolean started = false;
+        for (int language = 0; language < TokenTables.LANGUAGES.length; language++){
+            if ((runTogether & (1 << language)) == 0){
+                continue;
+            }
+            int start = Grammar.step(TokenTables.START[language], language, out);
+            if (start >= 0){
+                split.start(start);
+                started = true;
+            }
+        }
+        if (!started || !split.run()){
+            return false;
+        }
+        split.addTokens(out);
+        return true;
+    }
+
+    /** Does the word start with any word of any vocabulary? */
+    private static boolean startsWithWord(String word){
+        int node = ROOT;
+        for (int i = 0; i < word.length() && (node = child(node, word.charAt(i))) >= 0; i++){
+            if (wordAt(node) >= 0){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The split of a word with the fewest parts, from
+     * the grammar states of one or more languages.
+     */
+    private static final class Split {
+        private final String word;
+        /** Languages whose parts may start and end anywhere */
+        private final int runTogether;
+        private final int states = TokenTables.STATE_NAMES.length;
+        /** By character position: the states reached there, or null if none are */
+        private final Row[] rows;
+
+        /** The best state at the end of the word, or -1 if there is no split */
+        private int end = -1;
+
+        /**
+         * @param runTogether the languages whose parts may
+         *        start anywhere, rather than only at the
+         *        start and after hyphens
+         */
+        Split(String word, int runTogether){
+            this.word = word;
+            this.runTogether = runTogether;
+            this.rows = new Row[word.length() + 1];
+        }
+
+        /** Starts a split from a state, before the word */
+        void start(int state){
+            // Parts are counted from 1, so that 0 is unreached
+            row(0).parts[state] = 1;
+        }
+
+        /**
+         * Splits the word, from the states started.
+         *
+         * @return false if there is no split
+         */
+        boolean run(){
+            for (int position = 0; position < word.length(); position++){
+                // Parts may be joined by hyphens
+                boolean join = (position == 0 || word.charAt(position) == '-');
+                if (!reached(position, join)){
+                    continue;
+                }
+                int partStart = (position > 0 && join) ? position + 1 : position;
+                int node = ROOT;
+                for (int i = partStart; i < word.length() && (node = child(node, word.charAt(i))) >= 0; i++){
+                    int found = wordAt(node);
+                    if (found >= 0){
+                        follow(position, join, i + 1, found);
+                    }
+                }
+            }
+
+            Row last = rows[word.length()];
+            if (last == null){
+                return false;
+            }
+            boolean complete = false;
+            for (int state = 0; state < states; state++){
+                if (last.parts[state] == 0){
+                    continue;
+                }
+                boolean accepts = TokenTables.ACCEPTING[state];
+                if (end < 0 || (accepts && !complete) || (accepts == complete
+                        && Grammar.language(state) == Grammar.language(end) && last.parts[state] < last.parts[end])){
+                    end = state;
+                    complete = accepts;
+                }
+            }
+            return end >= 0;
+        }
+
+        /** The states reached at a position, made when first reached */
+        private Row row(int position){
+            if (rows[position] == null){
+                rows[position] = new Row(states);
+            }
+            return rows[position];
+        }
+
+        /**
+         * Has any state been reached at a position,
+         * from which a part may start there?
+         */
+        private boolean reached(int position, boolean join){
+            Row row = rows[position];
+            if (row == null){
+                return false;
+            }
+            for (int state = 0; state < states; state++){
+                if (row.parts[state] != 0 && (join || (runTogether & (1 << Grammar.language(state))) != 0)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Follows a word from every state reached at a position that may have it */
+        private void follow(int position, boolean join, int wordEnd, int found){
+            boolean joinAfter = (wordEnd == word.length() || word.charAt(wordEnd) == '-');
+            Row from = rows[position];
+            for (int state = 0; state < states; state++){
+                if (from.parts[state] == 0){
+                    continue;
+                }
+                int language = Grammar.language(state);
+                boolean anywhere = (runTogether & (1 << language)) != 0;
+                if ((TokenTables.WORD_LANGUAGES[found] & (1 << language)) == 0 || !(anywhere || (join && joinAfter))){
+                    continue;
+                }
+                int next = state;
+                for (int t = TokenTables.WORD_TOKENS[found]; t < TokenTables.WORD_TOKENS[found + 1] && next >= 0; t++){
+                    next = Grammar.next(next, TokenTables.TOKEN_TYPES[t]);
+                }
+                if (next < 0){
+                    continue;
+                }
+                Row to = row(wordEnd);
+                if (to.parts[next] == 0 || from.parts[state] + 1 < to.parts[next]){
+                    to.parts[next] = from.parts[state] + 1;
+                    to.fromPosition[next] = position;
+                    to.fromState[next] = state;
+                    to.partWord[next] = found;
+                }
+            }
+        }
+
+        /** Adds the tokens of the parts, in order */
+        void addTokens(List<NumberToken> out){
+            int count = rows[word.length()].parts[end] - 1;
+            int[] ends = new int[count];
+            int[] words = new int[count];
+            int position = word.length();
+            int state = end;
+            for (int p = count - 1; p >= 0; p--){
+                Row row = rows[position];
+                ends[p] = position;
+                words[p] = row.partWord[state];
+                position = row.fromPosition[state];
+                state = row.fromState[state];
+            }
+            int language = 1 << Grammar.language(end);
+            int start = 0;
+            for (int p = 0; p < count; p++){
+                // A part after a hyphen starts after it
+                if (start > 0 && word.charAt(start) == '-'){
+                    start++;
+                }
+                Lexicon.addTokens(words[p], word.substring(start, ends[p]), language, out);
+                start = ends[p];
+            }
+        }
+
+        /**
+         * The states reached at one position, by state:
+         * the fewest parts to get there (0 if unreached), and
+         * where the last part started, the state before it,
+         * and the word it was
+         */
+        private static final class Row {
+            final int[] parts;
+            final int[] fromPosition;
+            final int[] fromState;
+            final int[] partWord;
+
+            Row(int states){
+                parts = new int[states];
+                fromPosition = new int[states];
+                fromState = new int[states];
+                partWord = new int[states];
+            }
+        }
+    }
+
+    /** Adds the tokens a word stands for */
+    private static void addTokens(int word, String original, int languages, List<NumberToken> out){
+        for (int t = TokenTables.WORD_TOKENS[word]; t < TokenTables.WORD_TOKENS[word + 1]; t++){
+            out.add(new NumberToken(original, t, languages));
+        }
+    }
+
+    /**
+     * Tolerates misspelled words: a word that is not
+     * in any vocabulary is taken for the closest one,
+     * if it is within this many edits (insertions,
+     * deletions or substitutions) and all the words
+     * that close mean the same.
+     * <p>
+     * Words of 3 to 5 letters may only be 1 edit away,
+     * and shorter ones must be spelled exactly: too many
+     * words are within an edit or two of them.
+     *
+     * @param edits 0 (the default) to only accept
+     *        words that are spelled exactly, 1 or 2
+     */
+    static void setMaxEdits(int edits){
+        assert (edits >= 0) : "Edits cannot be negative";
+        maxEdits = edits;
+    }
+
+    /**
+     * Splits words that were run together, such as
+     * "twentyonethousand", in any language. Words of
+     * languages that compound ("einundzwanzig") are
+     * always split.
+     *
+     * @param segment true to split words of any language
+     */
+    static void setSegmenting(boolean segment){
+        segmenting = segment;
+    }
+
+    /** Are words of any language split? */
+    static boolean isSegmenting(){
+        return segmenting;
+    }
+
+    /** How many edits may be made to a misspelled word */
+    static int getMaxEdits(){
+        return maxEdits;
+    }
+
+    /** Edits allowed to a word of the given length */
+    private static int editsAllowed(int length){
+        if (length < 3){
+            return 0;
+        }
+        return Math.min(maxEdits, (length <= 5) ? 1 : 2);
+    }
+
+    /** Do two words stand for the same tokens? */
+    private static boolean sameTokens(int a, int b){
+        int aFirst = TokenTables.WORD_TOKENS[a];
+        int bFirst = TokenTables.WORD_TOKENS[b];
+        int length = TokenTables.WORD_TOKENS[a + 1] - aFirst;
+        if (TokenTables.WORD_TOKENS[b + 1] - bFirst != length){
+            return false;
+        }
+        for (int t = 0; t < length; t++){
+            if (TokenTables.TOKEN_TYPES[aFirst + t] != TokenTables.TOKEN_TYPES[bFirst + t]
+                    || TokenTables.TOKEN_VALUES[aFirst + t] != TokenTables.TOKEN_VALUES[bFirst + t]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A search of the trie for the words closest to
+     * a misspelled one. Row d of the distance table
+     * holds the edits between the first d characters
+     * of a path through the trie and each prefix of
+     * the misspelled word.
+     */
+    private static final class Correction {
+        /** The misspelled word */
+        private final String misspelled;
+        /** Most edits allowed */
+        private final int limit;
+        /** Rows of the distance table, by depth in the trie */
+        private final int[][] rows;
+
+        /** Closest word found, or -1 */
+        int word = -1;
+        /** Its distance from the misspelled word */
+        int distance = Integer.MAX_VALUE;
+        /** Languages of the words that close */
+        int languages = 0;
+        /** Do words that close mean different things? */
+        boolean ambiguous = false;
+
+        Correction(String misspelled, int limit){
+            this.misspelled = misspelled;
+            this.limit = limit;
+            this.rows = new int[misspelled.length() + limit + 1][misspelled.length() + 1];
+            for (int i = 0; i <= misspelled.length(); i++){
+                rows[0][i] = i;
+            }
+        }
+
+        /**
+         * Searches below a node.
+         *
+         * @param node a node of the trie
+         * @param depth its depth; rows[depth - 1] is its row
+         */
+        void search(int node, int depth){
+            if (depth == rows.length){
+                // Any deeper is more than limit insertions
+                return;
+            }
+            int[] previous = rows[depth - 1];
+            int[] row = rows[depth];
+            int end = TokenTables.TRIE_FIRST_EDGE.charAt(node + 1);
+            for (int edge = TokenTables.TRIE_FIRST_EDGE.charAt(node); edge < end; edge++){
+                char c = TokenTables.TRIE_CHARS.charAt(edge);
+                int child = TokenTables.TRIE_TARGETS.charAt(edge);
+
+                row[0] = previous[0] + 1;
+                int smallest = row[0];
+                for (int i = 1; i < row.length; i++){
+                    int substitute = previous[i - 1] + ((misspelled.charAt(i - 1) == c) ? 0 : 1);
+                    row[i] = Math.min(substitute, Math.min(row[i - 1], previous[i]) + 1);
+                    smallest = Math.min(smallest, row[i]);
+                }
+
+                int found = wordAt(child);
+                if (found >= 0 && row[row.length - 1] <= limit){
+                    consider(found, row[row.length - 1]);
+                }
+                // Only go on while some prefix could still be close enough
+                if (smallest <= Math.min(limit, distance)){
+                    search(child, depth + 1);
+                }
+            }
+        }
+
+        private void consider(int found, int edits){
+            if (edits < distance){
+                word = found;
+                distance = edits;
+                languages = TokenTables.WORD_LANGUAGES[found];
+                ambiguous = false;
+            } else if (edits == distance){
+                if (!sameTokens(word, found)){
+                    ambiguous = true;
+                }
+                languages |= TokenTables.WORD_LANGUAGES[found];
+            }
+        }
+    }
+
+    /*
+     * The trie
+     */
+
+    /**
+     * Follows an edge of the trie.
+     *
+     * @param node a node
+     * @param c the next character
+     * @return the node it leads to, or -1 if no word
+     *         continues with it
+     */
+    static int child(int node, char c){
+        int low = TokenTables.TRIE_FIRST_EDGE.charAt(node);
+        int high = TokenTables.TRIE_FIRST_EDGE.charAt(node + 1) - 1;
+        while (low <= high){
+            int middle = (low + high) >>> 1;
+            char edge = TokenTables.TRIE_CHARS.charAt(middle);
+            if (edge < c){
+                low = middle + 1;
+            } else if (edge > c){
+                high = middle - 1;
+            } else {
+                return TokenTables.TRIE_TARGETS.charAt(middle);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the word that ends at a node of the trie.
+     *
+     * @return its index in TokenTables.WORDS, or -1 if
+     *         no word ends there
+     */
+    static int wordAt(int node){
+        return TokenTables.TRIE_WORDS.charAt(node) - 1;
+    }
+}
@@ -0,0 +1,190 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LexiconTest {
+
+	ErrorManager em = ErrorManager.getInstance();
+	ByteArrayOutputStream err;
+
+	@Before
+	public void setUp() throws Exception {
+		err = new ByteArrayOutputStream();
+		em.setErrorOutput(new PrintStream(err, true));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Lexicon.setMaxEdits(0);
+		Lexicon.setSegmenting(false);
+	}
+
+	/** Lexes a word, returning its tokens, or null */
+	private static List<NumberToken> lex(String word) {
+		List<NumberToken> tokens = new ArrayList<NumberToken>();
+		return Lexicon.lex(word, tokens) ? tokens : null;
+	}
+
+	@Test
+	public void testMisspellingsRejectedByDefault() {
+		assertNull(lex("fourty"));
+		assertTrue(err.toString().contains("Not recognized as a valid word: \"fourty\""));
+	}
+
+	@Test
+	public void testMisspellingsCorrected() {
+		Lexicon.setMaxEdits(2);
+		assertEquals(new NumberToken("forty"), lex("fourty").get(0));
+		assertEquals(new NumberToken("ninety"), lex("ninty").get(0));
+		assertEquals(new NumberToken("thousand"), lex("thousnd").get(0));
+		assertEquals(new NumberToken("seventeen"), lex("sevnteen").get(0));
+		assertEquals("Corrected tokens keep what was written", "fourty", lex("fourty").get(0).original);
+	}
+
+	@Test
+	public void testEditsLimited() {
+		Lexicon.setMaxEdits(1);
+		assertNull("Two edits away", lex("forrtyy"));
+		Lexicon.setMaxEdits(2);
+		assertNotNull(lex("forrtyy"));
+		assertNull("Short words must be exact", lex("to"));
+		assertNull("Words of up to 5 letters get one edit", lex("fiev"));
+	}
+
+	@Test
+	public void testUpperCaseNotCorrected() {
+		Lexicon.setMaxEdits(1);
+		assertNull(lex("One"));
+		assertNull(lex("TWENTY"));
+		assertTrue(err.toString().contains("Should be all lower-case: \"One\""));
+		assertTrue(err.toString().contains("Should be all lower-case: \"TWENTY\""));
+	}
+
+	@Test
+	public void testLongWordsNotCorrected() {
+		Lexicon.setMaxEdits(2);
+		StringBuilder sb = new StringBuilder("thousand");
+		while (sb.length() < 1000000){
+			sb.append('s');
+		}
+		assertNull(lex(sb.toString()));
+		assertNotNull("Still two edits away", lex("thousandss"));
+	}
+
+	@Test
+	public void testAmbiguousMisspelling() {
+		Lexicon.setMaxEdits(1);
+		// "three", "tres" and "trece"
+		assertNull(lex("tree"));
+		assertTrue(err.toString().contains("Could be more than one word: \"tree\""));
+	}
+
+	@Test
+	public void testNumbersWithMisspellings() {
+		Lexicon.setMaxEdits(2);
+		EnglishNumber number = new EnglishNumber();
+		assertTrue(number.initialize(EntryPoint.toWords("fourty two thousnd")));
+		assertEquals(42000, number.toInt());
+		assertEquals("fourty two thousnd", number.toString());
+	}
+
+	@Test
+	public void testRunTogetherRejectedByDefault() {
+		assertNull(lex("twentyone"));
+	}
+
+	@Test
+	public void testSegmentation() {
+		Lexicon.setSegmenting(true);
+		List<NumberToken> tokens = lex("twentyonethousandfivehundred");
+		assertEquals(5, tokens.size());
+		assertEquals(new NumberToken("twenty"), tokens.get(0));
+		assertEquals(new NumberToken("hundred"), tokens.get(4));
+		assertEquals("one", tokens.get(1).original);
+
+		EnglishNumber number = new EnglishNumber();
+		assertTrue(number.initialize(EntryPoint.toWords("minus twentyone thousand")));
+		assertEquals(-21000, number.toInt());
+		assertEquals("minus twentyone thousand", number.toString());
+	}
+
+	@Test
+	public void testSegmentationFollowsGrammar() {
+		Lexicon.setSegmenting(true);
+		// Only "dix-sept" after "soixante", not "dix" then "sept"
+		List<NumberToken> tokens = lex("soixante-dix-sept");
+		assertEquals(2, tokens.size());
+		assertEquals("dix-sept", tokens.get(1).original);
+		// "seven" cannot follow "twenty" "five"
+		assertNull(lex("twentyfiveseven"));
+		// The words before decide where a split may start
+		List<NumberToken> before = new ArrayList<NumberToken>();
+		assertTrue(Lexicon.lex("zero", before));
+		assertFalse(Lexicon.lex("twentyone", before));
+	}
+
+	@Test
+	public void testHyphenatedPartsInErrors() {
+		EnglishNumber number = new EnglishNumber();
+		assertFalse(number.initialize(EntryPoint.toWords("twenty-one Million")));
+		assertTrue(err.toString().contains("\"Million\" is not in the same language as \"one\""));
+		assertFalse(number.initialize(EntryPoint.toWords("dreihundert-eins trois")));
+		assertTrue(err.toString().contains("\"trois\" is not in the same language as \"eins\""));
+		assertFalse(err.toString().contains("\"-"));
+	}
+
+	@Test
+	public void testHyphensJoinWords() {
+		List<NumberToken> tokens = lex("twenty-one");
+		assertEquals(2, tokens.size());
+		assertEquals("twenty", tokens.get(0).original);
+		assertEquals("one", tokens.get(1).original);
+		// Words with hyphens of their own are taken whole
+		tokens = lex("quatre-vingt-dix-sept");
+		assertEquals("quatre-vingt", tokens.get(0).original);
+		assertEquals("dix-sept", tokens.get(tokens.size() - 1).original);
+		assertNull(lex("twenty--one"));
+		assertNull(lex("-five"));
+		assertNull(lex("five-"));
+		assertNull(lex("twenty-bogus"));
+	}
+
+	@Test
+	public void testCompoundsAlwaysSplit() {
+		assertEquals(3, lex("einundzwanzig").size());
+		assertEquals(2, lex("vingt-deux").size());
+	}
+
+	@Test
+	public void testLongWordsNotSplit() {
+		StringBuilder sb = new StringBuilder();
+		while (sb.length() < 3000000){
+			sb.append("qx");
+		}
+		String garbage = sb.toString();
+		for (boolean segmenting : new boolean[]{false, true}){
+			Lexicon.setSegmenting(segmenting);
+			assertNull(lex(garbage));
+			assertNull("Starts with a word", lex("zwei" + garbage));
+			assertNull("Words joined by hyphens", lex("vingt-" + garbage));
+		}
+		assertTrue(err.toString().contains("Not recognized as a valid word"));
+
+		// As long as a number can be, it is still split
+		String longest = "neunhundertneunundneunzigmillionenneunhundertneunundneunzigtausendneunhundertneunundneunzig";
+		assertTrue(longest.length() < Lexicon.MAX_SEGMENTED_LENGTH);
+		EnglishNumber number = new EnglishNumber();
+		assertTrue(number.initialize(EntryPoint.toWords(longest)));
+		assertEquals(999999999, number.toInt());
+	}
+
+}
@@ -0,0 +1,165 @@
+package englishNumbers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Reads lines from an InputStream, keeping track
+ * of how many bytes have been consumed. Unlike
+ * {@link java.util.Scanner}, it can be limited to
+ * a byte range of its input, which is what
+ * lets a file be split between workers.
+ * <p>
+ * Lines end at '\n'; a '\r' before it is dropped.
+ *
+ */
+class LineReader {
+    /** Size of the read buffer */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Where bytes come from */
+    private final InputStream in;
+    /**
+     * How lines are decoded: always UTF-8, so that
+     * accented words do not depend on the platform
+     */
+    private final Charset charset;
+    /** Bytes we may still read from in */
+    private long remaining;
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    /** Next unread byte in buffer */
+    private int bufferPos = 0;
+    /** End of valid bytes in buffer */
+    private int bufferEnd = 0;
+
+    /** The line being assembled, if it spans buffers */
+    private byte[] line = new byte[256];
+
+    /** Bytes consumed by the lines returned so far */
+    private long position = 0;
+
+    /**
+     * Reads lines until the stream is closed.
+     *
+     * @param in the stream to read from
+     */
+    LineReader(InputStream in){
+        this(in, Long.MAX_VALUE);
+    }
+
+    /**
+     * Reads lines until the stream is closed or
+     * limit bytes have been read, whichever is
+     * first.
+     *
+     * @param in the stream to read from
+     * @param limit how many bytes may be read
+     */
+    LineReader(InputStream in, long limit){
+        assert (in != null) : "Cannot read lines from a null stream";
+        assert (limit >= 0) : "Limit must not be negative";
+        this.in = in;
+        this.remaining = limit;
+        this.charset = Charset.forName("UTF-8");
+    }
+
+    /**
+     * Reads the next line.
+     *
+     * @return the line, without its terminator,
+     *         or null at the end of input
+     * @throws IOException if the stream cannot be read
+     */
+    String readLine() throws IOException {
+        int length = 0;
+        while (true){
+            if (bufferPos == bufferEnd && !fill()){
+                if (length == 0){
+                    return null;
+                }
+                // Last line has no terminator
+                return decode(line, length);
+            }
+
+            // Look for the end of the line in what we have
+            int start = bufferPos;
+            int end = start;
+            while (end < bufferEnd && buffer[end] != '\n'){
+                end++;
+            }
+            boolean found = (end < bufferEnd);
+            bufferPos = found ? end + 1 : end;
+            position += bufferPos - start;
+
+            if (found && length == 0){
+                // Common case: whole line in the buffer
+                return decode(buffer, start, end - start);
+            }
+
+            length = append(length, start, end);
+            if (found){
+                return decode(line, length);
+            }
+        }
+    }
+
+    /**
+     * Returns how many bytes of the input the
+     * lines read so far took up, including
+     * their terminators.
+     */
+    long getPosition(){
+        return position;
+    }
+
+    /**
+     * Refills the buffer.
+     *
+     * @return false if there is nothing left to read
+     */
+    private boolean fill() throws IOException {
+        if (remaining <= 0){
+            return false;
+        }
+        int wanted = (int) Math.min(buffer.length, remaining);
+        int read = in.read(buffer, 0, wanted);
+        if (read <= 0){
+            return false;
+        }
+        remaining -= read;
+        bufferPos = 0;
+        bufferEnd = read;
+        return true;
+    }
+
+    /**
+     * Appends buffer[start, end) to the line being
+     * assembled, growing it if needed.
+     *
+     * @return the new length of the line
+     */
+    private int append(int length, int start, int end){
+        int needed = length + (end - start);
+        if (needed > line.length){
+            byte[] bigger = new byte[Math.max(needed, line.length * 2)];
+            System.arraycopy(line, 0, bigger, 0, length);
+            line = bigger;
+        }
+        System.arraycopy(buffer, start, line, length, end - start);
+        return needed;
+    }
+
+    private String decode(byte[] bytes, int length){
+        return decode(bytes, 0, length);
+    }
+
+    /** Decodes a line, dropping a trailing '\r' */
+    private String decode(byte[] bytes, int offset, int length){
+        if (length > 0 && bytes[offset + length - 1] == '\r'){
+            length--;
+        }
+        return new String(bytes, offset, length, charset);
+    }
+}
@@ -0,0 +1,307 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Times {@link EntryPoint} end to end over a corpus
+ * (see {@link CorpusGenerator}), in each of its input
+ * modes, and reports throughput, GC time and peak
+ * resident memory:
+ * <pre>
+ *   MacroBenchmark [--modes M,M...] [--repeat N] FILE
+ * </pre>
+ * Modes are:
+ * <ul>
+ * <li>plain: one thread reads FILE
+ * <li>gzip: one thread reads FILE gzip compressed, as
+ *     one member, so it is inflated on that thread
+ *     (FILE.gz, written first if it is not there)
+ * <li>bgzf: one thread reads FILE compressed to BGZF,
+ *     which is inflated on every core
+ *     (FILE.bgz, written first if it is not there)
+ * <li>threads: --threads, one per core
+ * <li>processes: --processes, one per core
+ * <li>aggregate: --aggregate instead of each value
+ * <li>bulk: {@link BulkParser}, from FILE mapped into
+ *     memory to a direct buffer of results
+ * <li>completion: {@link Completion} of the first half
+ *     of each line, as if it were being typed
+ * </ul>
+ * Each run is in a JVM of its own, so that one mode's
+ * JIT, heap and memory do not count towards another's.
+ * Output is thrown away. With --repeat, the fastest run
+ * of each mode is reported.
+ * <p>
+ * Peak memory is VmHWM from /proc (Linux only), of the
+ * JVM that runs EntryPoint: children of "processes"
+ * are not counted.
+ *
+ */
+class MacroBenchmark {
+    static final List<String> MODES = Arrays.asList("plain", "gzip", "bgzf", "threads", "processes", "aggregate", "bulk", "completion");
+
+    /** What a child JVM prints about its run */
+    private static final String RESULT = "RESULT";
+    /** Most of the file the bulk mode maps at once */
+    private static final long BULK_MAP_SIZE = 1L << 30;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 3 && args[0].equals("--child")){
+            runChild(args[1], new File(args[2]));
+            return;
+        }
+
+        List<String> modes = MODES;
+        int repeat = 1;
+        File corpus = null;
+        try {
+            for (int i = 0; i < args.length; i++){
+                if (args[i].equals("--modes")){
+                    modes = Arrays.asList(args[++i].split(","));
+                } else if (args[i].equals("--repeat")){
+                    repeat = Integer.parseInt(args[++i]);
+                } else if (corpus == null && !args[i].startsWith("--")){
+                    corpus = new File(args[i]);
+                } else {
+                    throw new IllegalArgumentException(args[i]);
+                }
+            }
+            if (corpus == null || repeat < 1 || !MODES.containsAll(modes)){
+                throw new IllegalArgumentException();
+            }
+        } catch (RuntimeException e){
+            System.err.println("Usage: MacroBenchmark [--modes " + join(MODES) + "] [--repeat N] FILE");
+            System.exit(2);
+            return;
+        }
+
+        long bytes = corpus.length();
+        long lines = countLines(corpus);
+        System.out.printf("%s: %.1f MB, %d lines%n", corpus, bytes / 1e6, lines);
+        System.out.printf("%-10s %10s %12s %10s %12s%n", "mode", "MB/s", "lines/s", "GC ms", "peak RSS MB");
+
+        for (String mode : modes){
+            File input = corpus;
+            if (mode.equals("gzip") || mode.equals("bgzf")){
+                input = compressed(corpus, mode.equals("bgzf"));
+            }
+            double[] best = null;
+            for (int run = 0; run < repeat; run++){
+                double[] result = runInJvm(mode, input);
+                if (result != null && (best == null || result[0] < best[0])){
+                    best = result;
+                }
+            }
+            if (best == null){
+                System.out.printf("%-10s failed%n", mode);
+                continue;
+            }
+            double seconds = best[0];
+            System.out.printf("%-10s %10.1f %12.0f %10.0f %12s%n", mode,
+                    bytes / 1e6 / seconds, lines / seconds, best[1],
+                    (best[2] < 0) ? "n/a" : String.format("%.1f", best[2] / 1024));
+        }
+    }
+
+    /**
+     * Runs a mode in a new JVM.
+     *
+     * @return seconds, GC milliseconds and peak RSS in kB
+     *         (-1 if unknown), or null if the run failed
+     */
+    private static double[] runInJvm(String mode, File input) throws IOException, InterruptedException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder pb = new ProcessBuilder(java,
+                "-cp", System.getProperty("java.class.path"),
+                MacroBenchmark.class.getName(), "--child", mode, input.getPath());
+        pb.redirectErrorStream(true);
+        Process process = pb.start();
+
+        double[] result = null;
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        String line;
+        while ((line = out.readLine()) != null){
+            String[] fields = line.split(" ");
+            if (fields[0].equals(RESULT) && fields.length == 4){
+                result = new double[]{
+                    Double.parseDouble(fields[1]), Double.parseDouble(fields[2]), Double.parseDouble(fields[3])
+                };
+            } else {
+                System.err.println(mode + ": " + line);
+            }
+        }
+        out.close();
+        return (process.waitFor() == 0) ? result : null;
+    }
+
+    /** Parses the input in this JVM, and prints a RESULT line */
+    private static void runChild(String mode, File input) throws IOException {
+        Options options = new Options();
+        options.input = input;
+        int cores = Runtime.getRuntime().availableProcessors();
+        if (mode.equals("threads") || mode.equals("processes")){
+            options.workers = Math.max(cores, 2);
+            options.separateJvms = mode.equals("processes");
+        }
+        options.aggregate = mode.equals("aggregate");
+
+        PrintStream discard = new PrintStream(new OutputStream(){
+            @Override
+            public void write(int b){ }
+
+            @Override
+            public void write(byte[] b, int off, int len){ }
+        });
+        long start = System.nanoTime();
+        if (mode.equals("bulk")){
+            runBulk(input);
+        } else if (mode.equals("completion")){
+            runCompletion(input);
+        } else {
+            EntryPoint.run(options, discard, discard);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()){
+            gcMillis += Math.max(gc.getCollectionTime(), 0);
+        }
+        System.out.println(RESULT + " " + seconds + " " + gcMillis + " " + peakRssKb());
+    }
+
+    /** Parses a file with a BulkParser, throwing the results away */
+    private static void runBulk(File input) throws IOException {
+        FileChannel channel = new FileInputStream(input).getChannel();
+        try {
+            BulkParser parser = new BulkParser();
+            ByteBuffer results = ByteBuffer.allocateDirect(64 * 1024 * BulkParser.RECORD_BYTES);
+            long size = channel.size();
+            long offset = 0;
+            while (offset < size){
+                long length = Math.min(size - offset, BULK_MAP_SIZE);
+                boolean last = (offset + length == size);
+                ByteBuffer lines = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                while (lines.hasRemaining()){
+                    results.clear();
+                    if (parser.parse(lines, results, last) == 0){
+                        break;
+                    }
+                }
+                if (lines.position() == 0){
+                    throw new IOException("Line longer than " + BULK_MAP_SIZE + " bytes");
+                }
+                offset += lines.position();
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /** Completes the first half of each line of a file */
+    private static void runCompletion(File input) throws IOException {
+        InputStream in = new FileInputStream(input);
+        try {
+            LineReader reader = new LineReader(in);
+            String line;
+            long words = 0;
+            while ((line = reader.readLine()) != null){
+                words += Completion.of(line.substring(0, line.length() / 2)).getWords().size();
+            }
+            if (words == 0){
+                throw new IOException("Nothing could be completed in " + input);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /** VmHWM of this process, in kB, or -1 if it cannot be read */
+    private static long peakRssKb(){
+        try {
+            BufferedReader status = new BufferedReader(new FileReader("/proc/self/status"));
+            try {
+                String line;
+                while ((line = status.readLine()) != null){
+                    if (line.startsWith("VmHWM:")){
+                        return Long.parseLong(line.substring(6).trim().split("\\s+")[0]);
+                    }
+                }
+            } finally {
+                status.close();
+            }
+        } catch (IOException e){
+            // Not Linux
+        }
+        return -1;
+    }
+
+    private static long countLines(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            long lines = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0){
+                for (int i = 0; i < read; i++){
+                    if (buffer[i] == '\n'){
+                        lines++;
+                    }
+                }
+            }
+            return lines;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Gets FILE.gz, or FILE.bgz for BGZF, compressing
+     * the corpus to it if it is not there.
+     */
+    private static File compressed(File corpus, boolean bgzf) throws IOException {
+        File gz = new File(corpus.getPath() + (bgzf ? ".bgz" : ".gz"));
+        if (gz.exists() && gz.lastModified() >= corpus.lastModified()){
+            return gz;
+        }
+        InputStream in = new FileInputStream(corpus);
+        OutputStream file = new FileOutputStream(gz);
+        OutputStream out = bgzf ? new BgzfOutputStream(new BufferedOutputStream(file, 64 * 1024))
+                : new GZIPOutputStream(file, 64 * 1024);
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0){
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+        return gz;
+    }
+
+    private static String join(List<String> strings){
+        StringBuilder sb = new StringBuilder();
+        for (String s : strings){
+            sb.append((sb.length() > 0) ? "," : "").append(s);
+        }
+        return sb.toString();
+    }
+}
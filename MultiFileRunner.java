@@ -0,0 +1,407 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses every file in a directory, or every file
+ * a glob such as "landing/2024-*.txt" matches, in one
+ * JVM. Files are parsed at once on a work-stealing
+ * pool; a large file is split into line-aligned
+ * {@link ByteRange}s, so it is not left to one
+ * thread while the others run out of small files.
+ * <p>
+ * Each file's output either goes to a file of its
+ * own under an output directory, or to the one
+ * output, in file order, with each line tagged by
+ * the name of the file it came from. Errors are
+ * tagged the same way, and every file's count
+ * towards the exit code, as they would in a
+ * single run.
+ * <p>
+ * When aggregating, only one summary of every
+ * file is written.
+ *
+ */
+class MultiFileRunner {
+    /** The ErrorManager */
+    private static ErrorManager em = ErrorManager.getInstance();
+
+    /** Files larger than this are split, unless told otherwise */
+    static final long CHUNK_SIZE = 64L << 20;
+
+    /** A directory, or a glob */
+    private final String pattern;
+    /** How many files or chunks to parse at once */
+    private final int threads;
+    /** Where to write an output for each file, or null to write one tagged output */
+    private final File outputDirectory;
+    /** Totals of all files, or null if not aggregating */
+    private final Aggregate total;
+    /** Files larger than this are split into parts about this size */
+    private final long chunkSize;
+
+    /**
+     * @param pattern a directory, whose files are all
+     *        parsed, or a glob of the files to parse
+     * @param threads how many files or chunks to parse at once
+     * @param outputDirectory where to write an output for
+     *        each file, or null to write one tagged output
+     * @param aggregate whether to write only a summary of the values
+     */
+    MultiFileRunner(String pattern, int threads, File outputDirectory, boolean aggregate){
+        this(pattern, threads, outputDirectory, aggregate, CHUNK_SIZE);
+    }
+
+    /**
+     * Separated for testing.
+     *
+     * @param chunkSize files larger than this are split
+     *        into parts about this size
+     */
+    MultiFileRunner(String pattern, int threads, File outputDirectory, boolean aggregate, long chunkSize){
+        assert (threads > 0) : "Need at least one thread";
+        assert (chunkSize > 0) : "Chunks cannot be empty";
+        assert !(outputDirectory != null && aggregate) : "Only one summary is written";
+        this.pattern = pattern;
+        this.threads = threads;
+        this.outputDirectory = outputDirectory;
+        this.total = aggregate ? new Aggregate() : null;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Parses the files, writing their output in order.
+     * Errors go to the output set on the {@link ErrorManager}.
+     *
+     * @param output where to write the numbers, unless
+     *        they go to an output directory
+     * @throws IOException if the files cannot be listed or
+     *         the temporary files cannot be written
+     */
+    void run(PrintStream output) throws IOException {
+        File base = baseDirectory(pattern);
+        List<File> files = find(base, pattern);
+        if (files.isEmpty()){
+            em.error("No files match \"%s\"", pattern);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<FilePart> parts = new ArrayList<FilePart>(files.size());
+        try {
+            for (File file : files){
+                FilePart part = new FilePart(file, relativeName(base, file));
+                pool.execute(part);
+                parts.add(part);
+            }
+
+            // Write out each file as soon as it and all before it are done
+            for (FilePart part : parts){
+                part.join();
+                part.finish(output);
+            }
+            if (total != null){
+                total.print(output);
+            }
+        } finally {
+            pool.shutdownNow();
+            for (FilePart part : parts){
+                part.delete();
+            }
+        }
+    }
+
+    /*
+     * Finding files
+     */
+
+    /** The directory above the first part of a glob with wildcards in it */
+    static File baseDirectory(String pattern){
+        File file = new File(pattern);
+        if (file.isDirectory() || !hasWildcards(pattern)){
+            return file.isDirectory() ? file : file.getAbsoluteFile().getParentFile();
+        }
+        File base = file;
+        while (base != null && hasWildcards(base.getPath())){
+            base = base.getParentFile();
+        }
+        return (base != null) ? base : new File(".");
+    }
+
+    /**
+     * Lists the files of a directory and all below it,
+     * or the files a glob matches, in order of name.
+     *
+     * @param base the directory to look in
+     * @param pattern the directory itself, or a glob
+     * @return the files
+     * @throws IOException if a directory cannot be read
+     */
+    static List<File> find(File base, String pattern) throws IOException {
+        final List<File> found = new ArrayList<File>();
+        File file = new File(pattern);
+        if (!file.isDirectory() && !hasWildcards(pattern)){
+            if (file.isFile()){
+                found.add(file);
+            }
+            return found;
+        }
+
+        final Path root = base.toPath();
+        final PathMatcher matcher = file.isDirectory() ? null
+                : FileSystems.getDefault().getPathMatcher("glob:" + below(base, pattern));
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>(){
+            @Override
+            public FileVisitResult visitFile(Path path, BasicFileAttributes attributes){
+                if (attributes.isRegularFile() && (matcher == null || matcher.matches(root.relativize(path)))){
+                    found.add(path.toFile());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(found);
+        return found;
+    }
+
+    /** The part of a glob below the base directory */
+    private static String below(File base, String pattern){
+        String prefix = base.getPath() + File.separator;
+        return pattern.startsWith(prefix) ? pattern.substring(prefix.length()) : pattern;
+    }
+
+    private static boolean hasWildcards(String pattern){
+        for (char c : "*?[{".toCharArray()){
+            if (pattern.indexOf(c) >= 0){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The name of a file below the base directory */
+    private static String relativeName(File base, File file){
+        return base.getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString();
+    }
+
+    /*
+     * Copying output
+     */
+
+    /** Copies a file to a stream, writing a tag before each line */
+    private static void copyTagged(File from, byte[] tag, OutputStream to) throws IOException {
+        InputStream in = new FileInputStream(from);
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            boolean lineStart = true;
+            int read;
+            while ((read = in.read(buffer)) > 0){
+                int start = 0;
+                for (int i = 0; i < read; i++){
+                    if (lineStart){
+                        to.write(buffer, start, i - start);
+                        to.write(tag);
+                        start = i;
+                    }
+                    lineStart = (buffer[i] == '\n');
+                }
+                to.write(buffer, start, read - start);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Appends a file to a stream */
+    private static void copy(File from, OutputStream to) throws IOException {
+        copyTagged(from, new byte[0], to);
+    }
+
+    /**
+     * One file, split into chunks that are parsed
+     * as tasks of their own.
+     */
+    private class FilePart extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final File file;
+        /** Its name under the base directory */
+        final String name;
+        final List<Chunk> chunks = new ArrayList<Chunk>();
+        /** Why it could not be parsed, or null */
+        IOException failure = null;
+
+        FilePart(File file, String name){
+            this.file = file;
+            this.name = name;
+        }
+
+        @Override
+        protected void compute(){
+            try {
+                // Compressed files cannot be split
+                int count = (int) Math.min(Integer.MAX_VALUE, (file.length() + chunkSize - 1) / chunkSize);
+                if (count > 1 && CompressedInput.detect(file) == CompressedInput.Format.PLAIN){
+                    for (ByteRange range : ByteRange.split(file, count)){
+                        chunks.add(new Chunk(file, range));
+                    }
+                } else {
+                    chunks.add(new Chunk(file, null));
+                }
+                ForkJoinTask.invokeAll(chunks);
+
+                if (outputDirectory != null){
+                    writeOutput();
+                }
+            } catch (IOException e){
+                failure = e;
+            }
+        }
+
+        /** Writes the chunks' output to the file's own output */
+        private void writeOutput() throws IOException {
+            File output = new File(outputDirectory, name + ".out");
+            output.getParentFile().mkdirs();
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(output));
+            try {
+                for (Chunk chunk : chunks){
+                    if (chunk.failure == null){
+                        copy(chunk.output, out);
+                    }
+                }
+            } finally {
+                out.close();
+            }
+        }
+
+        /**
+         * Writes the file's output, unless it has an
+         * output of its own, and its errors.
+         */
+        void finish(PrintStream to) throws IOException {
+            String tag = file.getPath() + "\t";
+            byte[] tagBytes = tag.getBytes("UTF-8");
+            for (Chunk chunk : chunks){
+                if (chunk.failure != null){
+                    failure = chunk.failure;
+                    continue;
+                }
+                if (total != null){
+                    total.merge(chunk.aggregate);
+                } else if (outputDirectory == null){
+                    to.flush();
+                    copyTagged(chunk.output, tagBytes, to);
+                    to.flush();
+                }
+
+                // Errors were counted when they were written
+                InputStream err = new FileInputStream(chunk.errors);
+                try {
+                    em.relay(err, false, tag);
+                } finally {
+                    err.close();
+                }
+            }
+            if (failure != null){
+                em.exception(failure);
+            }
+        }
+
+        void delete(){
+            for (Chunk chunk : chunks){
+                chunk.delete();
+            }
+        }
+    }
+
+    /**
+     * A file, or a range of it, with the
+     * temporary files holding its output and errors.
+     */
+    private class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final File file;
+        /** The part of the file, or null for all of it */
+        final ByteRange range;
+        /** Totals of this chunk, or null if not aggregating */
+        final Aggregate aggregate;
+        File output;
+        File errors;
+        /** Why it could not be parsed, or null */
+        IOException failure = null;
+
+        Chunk(File file, ByteRange range){
+            this.file = file;
+            this.range = range;
+            this.aggregate = (total != null) ? new Aggregate() : null;
+        }
+
+        @Override
+        protected void compute(){
+            try {
+                output = File.createTempFile("englishNumbers-out-", ".part");
+                errors = File.createTempFile("englishNumbers-err-", ".part");
+                PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+                PrintStream err = new PrintStream(new BufferedOutputStream(new FileOutputStream(errors)));
+                em.setWorkerErrorOutput(err);
+                try {
+                    if (range != null){
+                        SplitRunner.runRange(file, range, out, aggregate);
+                    } else {
+                        parseWhole(out);
+                    }
+                } finally {
+                    em.clearWorkerErrorOutput();
+                    out.close();
+                    err.close();
+                }
+            } catch (IOException e){
+                failure = e;
+            }
+        }
+
+        /** Parses the whole file, which may be compressed */
+        private void parseWhole(PrintStream out) throws IOException {
+            // The pool is busy enough without decompressing in parallel
+            InputStream in = CompressedInput.open(new FileInputStream(file), 1);
+            try {
+                if (aggregate != null){
+                    EntryPoint.aggregate(new LineReader(in), aggregate, null);
+                } else {
+                    EntryPoint.process(new LineReader(in), out);
+                }
+            } finally {
+                in.close();
+            }
+        }
+
+        void delete(){
+            if (output != null){
+                output.delete();
+            }
+            if (errors != null){
+                errors.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MultiFileRunnerTest {
+
+	static final String[] INPUTS = {
+			"one\nminus five\nbogus\n",
+			"three hundred twenty six\ntwo thousand five\nNine\nsixty seven\n",
+			"ten",
+	};
+	static final String[] NAMES = {"a.txt", "b.txt", "sub/c.txt"};
+
+	ErrorManager em = ErrorManager.getInstance();
+	File dir;
+
+	@Before
+	public void setUp() throws Exception {
+		dir = File.createTempFile("MultiFileRunnerTest", "");
+		dir.delete();
+		for (int i = 0; i < NAMES.length; i++){
+			write(new File(dir, NAMES[i]), INPUTS[i]);
+		}
+		write(new File(dir, "skip.csv"), "bogus\n");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		delete(dir);
+	}
+
+	private static void write(File file, String text) throws Exception {
+		file.getParentFile().mkdirs();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(text.getBytes("US-ASCII"));
+		out.close();
+	}
+
+	private static void delete(File file){
+		File[] children = file.listFiles();
+		if (children != null){
+			for (File child : children){
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private static String read(File file) throws Exception {
+		InputStream in = new FileInputStream(file);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int read;
+		while ((read = in.read(buffer)) > 0){
+			out.write(buffer, 0, read);
+		}
+		in.close();
+		return out.toString("US-ASCII");
+	}
+
+	/** What a single run over some input writes */
+	private static String[] singleRun(String input) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		EntryPoint.run(new ByteArrayInputStream(input.getBytes("US-ASCII")),
+				new PrintStream(out, true), new PrintStream(err, true));
+		return new String[]{out.toString(), err.toString()};
+	}
+
+	/** Tags each line of text */
+	private static String tagged(String tag, String text){
+		return text.isEmpty() ? "" : tag + "\t" + text.replaceAll("\n(?!$)", "\n" + tag + "\t");
+	}
+
+	/** Runs over the files, returning the output and errors */
+	private String[] run(String pattern, File outputDirectory, long chunkSize) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		em.setErrorOutput(new PrintStream(err, true));
+		PrintStream output = new PrintStream(out, true);
+		new MultiFileRunner(pattern, 3, outputDirectory, false, chunkSize).run(output);
+		output.flush();
+		return new String[]{out.toString(), err.toString()};
+	}
+
+	@Test
+	public void testTaggedOutputMatchesSingleRuns() throws Exception {
+		String expectedOut = "";
+		String expectedErr = "";
+		for (int i = 0; i < NAMES.length; i++){
+			String[] single = singleRun(INPUTS[i]);
+			String tag = new File(dir, NAMES[i]).getPath();
+			expectedOut += tagged(tag, single[0]);
+			expectedErr += tagged(tag, single[1]);
+		}
+
+		// Also with every file split into parts
+		for (long chunkSize : new long[]{MultiFileRunner.CHUNK_SIZE, 10}){
+			int errorsBefore = em.getErrorCount();
+			String[] result = run(dir.getPath() + "/**.txt", null, chunkSize);
+			assertEquals(expectedOut, result[0]);
+			assertEquals(expectedErr, result[1]);
+			assertEquals("Errors should all be counted", 2, em.getErrorCount() - errorsBefore);
+		}
+	}
+
+	@Test
+	public void testDirectory() throws Exception {
+		int errorsBefore = em.getErrorCount();
+		String[] result = run(dir.getPath(), null, MultiFileRunner.CHUNK_SIZE);
+		assertTrue(result[0].contains(new File(dir, "sub/c.txt").getPath() + "\t10\n"));
+		assertEquals("skip.csv is in the directory too", 3, em.getErrorCount() - errorsBefore);
+	}
+
+	@Test
+	public void testGlobDoesNotCrossDirectories() throws Exception {
+		String[] result = run(dir.getPath() + "/*.txt", null, MultiFileRunner.CHUNK_SIZE);
+		assertTrue(result[0].contains("a.txt"));
+		assertFalse(result[0].contains("c.txt"));
+	}
+
+	@Test
+	public void testOutputDirectory() throws Exception {
+		File outputs = new File(dir, "out");
+		String[] result = run(dir.getPath() + "/**.txt", outputs, 10);
+		assertEquals("", result[0]);
+		for (int i = 0; i < NAMES.length; i++){
+			assertEquals(singleRun(INPUTS[i])[0], read(new File(outputs, NAMES[i] + ".out")));
+		}
+	}
+
+	@Test
+	public void testNoFiles() throws Exception {
+		int errorsBefore = em.getErrorCount();
+		run(dir.getPath() + "/*.gz", null, MultiFileRunner.CHUNK_SIZE);
+		assertEquals(1, em.getErrorCount() - errorsBefore);
+	}
+}
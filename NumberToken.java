@@ -2,8 +2,12 @@
  * Atomic units of an English Number.
  */
 package englishNumbers;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * A programmatic representation of an English
+ * A programmatic representation of a number
  * word for {@link EnglishNumber}. Consists
  * of a token type, a value, and the original word
  * that was lexed. The integer "value" is
@@ -26,9 +30,15 @@ class NumberToken {
      */
     int value = 0;
     /**
-     * The original English word.
+     * The original word, or the part of it
+     * this token was lexed from.
      */
     String original;
+    /**
+     * The languages this token could be from,
+     * one bit per TokenTables.LANGUAGES
+     */
+    int languages = 0;
     
     /** The ErrorManager */
     private static ErrorManager em = ErrorManager.getInstance();
@@ -40,62 +50,42 @@ class NumberToken {
     NumberToken(String s){
         original = s;
         
-        // Check that it's all lowercase
-        if (!s.equals(s.toLowerCase())){
-            em.error("Should be all lower-case: \"%s\"", s);
+        // Determine token type and value
+        assert (type == null);
+        List<NumberToken> tokens = new ArrayList<NumberToken>(1);
+        if (!Lexicon.lex(s, tokens)){
             return;
         }
-        
-        // Determine token type
-        assert (type == null);
-        type = getTypeOf(s);
-        if (type == null){
-            em.error("Not recognized as a valid word: \"%s\"", s);
+        if (tokens.size() != 1){
+            em.error("Stands for more than one token: \"%s\"", s);
             return;
         }
-        
-        // Determine value
-        value = getValueOf(type, s);
-    }
-
-    /**
-     * Gets the original text
-     */
-    @Override
-    public String toString() {
-        return original;
+        type = tokens.get(0).type;
+        value = tokens.get(0).value;
+        languages = tokens.get(0).languages;
     }
     
     /**
-     * Gets the token type of the given String
-     * by matching it against the Regex of each
-     * token type.
+     * Create a token that was lexed from
+     * (part of) a word.
      * 
-     * @param s a string to attempt matching
-     * @return the token type, or null if no match
+     * @param original the word, or part of it
+     * @param token index into TokenTables.TOKEN_TYPES
+     * @param languages the languages it could be from
      */
-    private static TokenType getTypeOf(String s){
-        for (TokenType t : TokenType.values()){
-            if (s.matches(t.getPattern())){
-                return t;
-            }
-        }
-        return null;
+    NumberToken(String original, int token, int languages){
+        this.original = original;
+        this.type = TokenTables.TOKEN_TYPES[token];
+        this.value = TokenTables.TOKEN_VALUES[token];
+        this.languages = languages;
     }
-    
+
     /**
-     * Gets the value for a given String,
-     * provided with its token type.
-     * 
-     * @param type the token's type
-     * @param s the original string
-     * @return the value, or
-     *         -1 if this token type has no associated value
+     * Gets the original text
      */
-    private static int getValueOf(TokenType type, String s) {
-    	int toReturn = type.getValue(s);
-    	assert (toReturn >= 0) : "No value found for token type " + type;
-    	return type.getValue(s);
+    @Override
+    public String toString() {
+        return original;
     }
     
     @Override
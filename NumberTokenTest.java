@@ -58,4 +58,25 @@ public class NumberTokenTest {
 		assertTrue(zero.equals(new NumberToken("zero")));
 	}
 
+	@Test
+	public void testTablesMatchTokenType() {
+		TokenType[] types = TokenType.values();
+		assertEquals(types.length, TokenTables.TYPE_NAMES.length);
+		for (int i = 0; i < types.length; i++){
+			assertEquals(types[i].name(), TokenTables.TYPE_NAMES[i]);
+		}
+		for (int i = 0; i < TokenTables.WORDS.length; i++){
+			String word = TokenTables.WORDS[i];
+			assertEquals(i, TokenTables.indexOf(word));
+			int node = Lexicon.ROOT;
+			for (int c = 0; c < word.length(); c++){
+				node = Lexicon.child(node, word.charAt(c));
+				assertTrue("Not in the trie: " + word, node >= 0);
+			}
+			assertEquals(i, Lexicon.wordAt(node));
+		}
+		assertEquals(-1, TokenTables.indexOf("Six"));
+		assertEquals(-1, Lexicon.child(Lexicon.ROOT, 'X'));
+	}
+
 }
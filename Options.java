@@ -0,0 +1,222 @@
+package englishNumbers;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line options for {@link EntryPoint}.
+ * With no options, numbers are read from
+ * standard in.
+ *
+ */
+class Options {
+    /** Shown when the command line is invalid */
+    static final String USAGE =
+            "Usage: EntryPoint [options] [file]\n" +
+            "  --threads N       split file into N line-aligned ranges parsed in parallel;\n" +
+            "                    with --files, parse N files or parts of files at once\n" +
+            "                    (default: all cores)\n" +
+            "  --processes N     like --threads, but each range is parsed by its own JVM\n" +
+            "  --range START:END parse only bytes [START, END) of file; both must be\n" +
+            "                    line boundaries (as chosen by --threads or --processes)\n" +
+            "  --output FILE     write the numbers to FILE instead of standard out\n" +
+            "  --files DIR|GLOB  parse every file in DIR and below it, or every file\n" +
+            "                    that GLOB matches, writing each line tagged with the\n" +
+            "                    name of its file; large files are split between threads\n" +
+            "  --output-dir DIR  with --files, write each file's numbers to a file of\n" +
+            "                    its own in DIR, named after it with \".out\" added\n" +
+            "  --journal FILE    record progress in FILE, so that an interrupted run\n" +
+            "                    resumes where it left off; needs a file and --output\n" +
+            "  --decompress-threads N\n" +
+            "                    threads for decompressing gzip input (default: all cores)\n" +
+            "  --index FILE      also write each line's value to FILE, a binary index\n" +
+            "                    that ValueIndex can query without parsing again\n" +
+            "  --aggregate       write only the count, sum, min, max and a histogram\n" +
+            "                    of the values, instead of each value\n" +
+            "  --fuzzy N         take a misspelled word for the number word at most\n" +
+            "                    N (1 or 2) edits away, if there is only one\n" +
+            "  --segment         split words that were run together, such as\n" +
+            "                    \"twentyonethousand\"\n" +
+            "  --csv COLUMNS     read CSV with a header, and write it back with the\n" +
+            "                    named columns converted to numbers; COLUMNS are\n" +
+            "                    header names or numbers from 1, separated by commas\n" +
+            "  --tsv COLUMNS     like --csv, for tab-separated values\n" +
+            "  --canonical       write each number's canonical English spelling\n" +
+            "                    (\"zero\", not \"naught\"; \"minus\", not \"negative\";\n" +
+            "                    no \"and\" or hyphens) instead of its words and value;\n" +
+            "                    lines that cannot be parsed are written empty";
+
+    /** File to read, or null for standard in */
+    File input = null;
+    /** How many ranges to split the input into */
+    int workers = 1;
+    /** Parse each range in a separate JVM? */
+    boolean separateJvms = false;
+    /** Only parse this part of the input, or null for all of it */
+    ByteRange range = null;
+    /** Directory or glob of the files to read, or null to read input */
+    String files = null;
+    /** Directory to write each of the files' output to, or null */
+    File outputDirectory = null;
+    /** File to write, or null for standard out */
+    File output = null;
+    /** Where to record progress, or null to not record it */
+    File journal = null;
+    /** Where to write a {@link ValueIndex}, or null to not write one */
+    File index = null;
+    /** Write only a summary of the values? */
+    boolean aggregate = false;
+    /** Edits a misspelled word may be from a number word; 0 for none */
+    int maxEdits = 0;
+    /** Columns to convert, if the input is CSV or TSV; null otherwise */
+    List<String> columns = null;
+    /** What separates the fields of CSV or TSV input */
+    byte delimiter = ',';
+    /** Write canonical spellings instead of values? */
+    boolean canonical = false;
+    /** Split words that were run together? */
+    boolean segment = false;
+    /** How many threads may decompress gzip input */
+    int decompressThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Parses the command line.
+     *
+     * @param args the arguments given to main
+     * @return the options
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static Options parse(String[] args){
+        Options options = new Options();
+        boolean threadsGiven = false;
+
+        for (int i = 0; i < args.length; i++){
+            String arg = args[i];
+            if (arg.equals("--threads") || arg.equals("--processes")){
+                options.workers = parseCount(arg, valueOf(args, ++i, arg));
+                options.separateJvms = arg.equals("--processes");
+                threadsGiven = true;
+            } else if (arg.equals("--range")){
+                options.range = ByteRange.parse(valueOf(args, ++i, arg));
+            } else if (arg.equals("--output")){
+                options.output = new File(valueOf(args, ++i, arg));
+            } else if (arg.equals("--files")){
+                options.files = valueOf(args, ++i, arg);
+            } else if (arg.equals("--output-dir")){
+                options.outputDirectory = new File(valueOf(args, ++i, arg));
+            } else if (arg.equals("--journal")){
+                options.journal = new File(valueOf(args, ++i, arg));
+            } else if (arg.equals("--index")){
+                options.index = new File(valueOf(args, ++i, arg));
+            } else if (arg.equals("--aggregate")){
+                options.aggregate = true;
+            } else if (arg.equals("--canonical")){
+                options.canonical = true;
+            } else if (arg.equals("--segment")){
+                options.segment = true;
+            } else if (arg.equals("--csv") || arg.equals("--tsv")){
+                options.columns = Arrays.asList(valueOf(args, ++i, arg).split(","));
+                options.delimiter = (byte) (arg.equals("--csv") ? ',' : '\t');
+            } else if (arg.equals("--fuzzy")){
+                options.maxEdits = parseCount(arg, valueOf(args, ++i, arg));
+            } else if (arg.equals("--decompress-threads")){
+                options.decompressThreads = parseCount(arg, valueOf(args, ++i, arg));
+            } else if (arg.startsWith("--")){
+                throw new IllegalArgumentException("Unknown option: \"" + arg + "\"");
+            } else if (options.input == null){
+                options.input = new File(arg);
+            } else {
+                throw new IllegalArgumentException("Only one input file may be given");
+            }
+        }
+
+        if (options.files != null && !threadsGiven){
+            options.workers = Runtime.getRuntime().availableProcessors();
+        }
+        options.validate();
+        return options;
+    }
+
+    /** Checks that the options make sense together */
+    private void validate(){
+        // Whatever is parsed
+        if (maxEdits > 2){
+            throw new IllegalArgumentException("--fuzzy allows at most 2 edits");
+        }
+
+        if (files != null){
+            validateFiles();
+        } else {
+            validateSingleInput();
+        }
+    }
+
+    /** Checks that the options make sense with one input */
+    private void validateSingleInput(){
+        if (outputDirectory != null){
+            throw new IllegalArgumentException("--output-dir needs --files");
+        }
+        if ((workers > 1 || range != null) && input == null){
+            throw new IllegalArgumentException("An input file is needed to split the input");
+        }
+        if (workers > 1 && range != null){
+            throw new IllegalArgumentException("--range cannot be split any further");
+        }
+        if (journal != null && (input == null || output == null)){
+            throw new IllegalArgumentException("--journal needs an input file and --output");
+        }
+        if (journal != null && (workers > 1 || range != null)){
+            throw new IllegalArgumentException("--journal cannot be used with a split input");
+        }
+        if (index != null && (workers > 1 || range != null || journal != null)){
+            throw new IllegalArgumentException("--index cannot be used with a split or journaled input");
+        }
+        if (aggregate && (separateJvms || journal != null)){
+            throw new IllegalArgumentException("--aggregate cannot be used with --processes or --journal");
+        }
+        if (columns != null && (workers > 1 || range != null || journal != null || index != null || aggregate)){
+            throw new IllegalArgumentException(
+                    "--csv and --tsv cannot be used with --threads, --processes, --range, --journal, --index or --aggregate");
+        }
+        if (canonical && (workers > 1 || range != null || journal != null || index != null || aggregate || columns != null)){
+            throw new IllegalArgumentException("--canonical cannot be used with --threads, --processes, --range,"
+                    + " --journal, --index, --aggregate, --csv or --tsv");
+        }
+    }
+
+    /** Checks that the options make sense with --files */
+    private void validateFiles(){
+        if (input != null){
+            throw new IllegalArgumentException("--files cannot be used with an input file");
+        }
+        if (separateJvms || range != null || journal != null || index != null || columns != null || canonical){
+            throw new IllegalArgumentException(
+                    "--files cannot be used with --processes, --range, --journal, --index, --csv, --tsv or --canonical");
+        }
+        if (outputDirectory != null && (output != null || aggregate)){
+            throw new IllegalArgumentException("--output-dir cannot be used with --output or --aggregate");
+        }
+    }
+
+    /** Gets the value following an option */
+    private static String valueOf(String[] args, int i, String option){
+        if (i >= args.length){
+            throw new IllegalArgumentException("Expected a value after " + option);
+        }
+        return args[i];
+    }
+
+    /** Parses a positive count */
+    private static int parseCount(String option, String s){
+        try {
+            int count = Integer.parseInt(s);
+            if (count > 0){
+                return count;
+            }
+        } catch (NumberFormatException e){
+            // Reported below
+        }
+        throw new IllegalArgumentException("Expected a positive number after " + option + ", got \"" + s + "\"");
+    }
+}
@@ -0,0 +1,296 @@
+package englishNumbers;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a multi-member gzip stream using
+ * several threads, keeping a few members ahead
+ * of the reader.
+ * <p>
+ * Members can only be handed to other threads
+ * if their length is known without inflating
+ * them, so this relies on the BGZF convention
+ * (as written by bgzip): each member carries
+ * its own size in a "BC" extra subfield. As soon
+ * as a member without one is found, the rest of
+ * the stream is read with {@link GZIPInputStream},
+ * on the reading thread.
+ *
+ */
+class ParallelGzipInputStream extends InputStream {
+    /* Header flags, RFC 1952 */
+    static final int FEXTRA = 4;
+    /** Fixed part of a member header */
+    static final int HEADER_SIZE = 10;
+    /** CRC32 and ISIZE */
+    static final int TRAILER_SIZE = 8;
+    /** Most bytes one byte of deflate data can inflate to */
+    private static final int MAX_RATIO = 1032;
+
+    /** The compressed stream */
+    private final DataInputStream in;
+    /** Inflates members */
+    private final ExecutorService pool;
+    /** How many members to inflate ahead */
+    private final int readAhead;
+    /** Members being inflated, in stream order */
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<Future<byte[]>>();
+
+    /** The member being read */
+    private byte[] current = new byte[0];
+    private int currentPos = 0;
+    /** Reads the rest of the stream, once it has no more BGZF members */
+    private InputStream sequential = null;
+    /** No more members to read from in? */
+    private boolean exhausted = false;
+    /** For {@link #read()} */
+    private final byte[] single = new byte[1];
+
+    /**
+     * @param in the compressed stream
+     * @param threads how many threads to inflate with
+     */
+    ParallelGzipInputStream(InputStream in, int threads){
+        assert (threads > 0) : "Need at least one thread";
+        this.in = new DataInputStream(in);
+        this.readAhead = 2 * threads;
+        this.pool = Executors.newFixedThreadPool(threads, new ThreadFactory(){
+            @Override
+            public Thread newThread(Runnable r){
+                Thread t = new Thread(r, "gzip-inflater");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(single, 0, 1);
+        return (read < 0) ? -1 : (single[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0){
+            return 0;
+        }
+        while (currentPos == current.length){
+            if (!nextMember()){
+                return (sequential != null) ? sequential.read(b, off, len) : -1;
+            }
+        }
+        int n = Math.min(len, current.length - currentPos);
+        System.arraycopy(current, currentPos, b, off, n);
+        currentPos += n;
+        return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+        pool.shutdownNow();
+        if (sequential != null){
+            sequential.close();
+        }
+        in.close();
+    }
+
+    /**
+     * Moves on to the next inflated member,
+     * starting more members inflating.
+     *
+     * @return false if there are no more members
+     *         to be inflated in parallel
+     */
+    private boolean nextMember() throws IOException {
+        while (!exhausted && pending.size() < readAhead){
+            submitMember();
+        }
+        Future<byte[]> next = pending.poll();
+        if (next == null){
+            return false;
+        }
+
+        try {
+            current = next.get();
+        } catch (InterruptedException e){
+            throw new IOException("Interrupted while inflating", e);
+        } catch (ExecutionException e){
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException){
+                throw (IOException) cause;
+            }
+            throw new IOException("Could not inflate gzip member", cause);
+        }
+        currentPos = 0;
+        return true;
+    }
+
+    /**
+     * Reads the next member from the stream and
+     * starts inflating it, or switches to reading
+     * sequentially if it has no BGZF size.
+     */
+    private void submitMember() throws IOException {
+        byte[] header = new byte[HEADER_SIZE];
+        int read = readFully(header, 0, HEADER_SIZE);
+        if (read == 0){
+            exhausted = true;
+            return;
+        }
+        if (read < HEADER_SIZE || (header[0] & 0xff) != 0x1f || (header[1] & 0xff) != 0x8b){
+            throw new IOException("Not in GZIP format");
+        }
+
+        int flags = header[3] & 0xff;
+        if (flags != FEXTRA){
+            readSequentially(header);
+            return;
+        }
+
+        int xlen = in.readUnsignedByte() | (in.readUnsignedByte() << 8);
+        byte[] extra = new byte[xlen];
+        in.readFully(extra);
+        int blockSize = bgzfBlockSize(extra);
+        if (blockSize < 0){
+            byte[] consumed = new byte[HEADER_SIZE + 2 + xlen];
+            System.arraycopy(header, 0, consumed, 0, HEADER_SIZE);
+            consumed[HEADER_SIZE] = (byte) xlen;
+            consumed[HEADER_SIZE + 1] = (byte) (xlen >>> 8);
+            System.arraycopy(extra, 0, consumed, HEADER_SIZE + 2, xlen);
+            readSequentially(consumed);
+            return;
+        }
+
+        int dataSize = blockSize - HEADER_SIZE - 2 - xlen;
+        if (dataSize < TRAILER_SIZE){
+            throw new IOException("Corrupt BGZF block size: " + blockSize);
+        }
+        final byte[] data = new byte[dataSize];
+        in.readFully(data);
+        pending.add(pool.submit(new Callable<byte[]>(){
+            @Override
+            public byte[] call() throws IOException {
+                return inflate(data);
+            }
+        }));
+    }
+
+    /**
+     * Reads the rest of the stream with a
+     * {@link GZIPInputStream}, once the members
+     * already started have been read.
+     *
+     * @param consumed bytes of the stream already read
+     */
+    private void readSequentially(byte[] consumed) throws IOException {
+        sequential = new GZIPInputStream(new SequenceInputStream(new ByteArrayInputStream(consumed), in), 64 * 1024);
+        exhausted = true;
+    }
+
+    /** Reads as many bytes as are available, up to len */
+    private int readFully(byte[] b, int off, int len) throws IOException {
+        int total = 0;
+        while (total < len){
+            int read = in.read(b, off + total, len - total);
+            if (read < 0){
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Finds the BGZF "BC" subfield in a header's
+     * extra field.
+     *
+     * @return the total size of the member, or -1 if not given
+     */
+    private static int bgzfBlockSize(byte[] extra){
+        int i = 0;
+        while (i + 4 <= extra.length){
+            int length = (extra[i + 2] & 0xff) | ((extra[i + 3] & 0xff) << 8);
+            if (extra[i] == 'B' && extra[i + 1] == 'C' && length == 2 && i + 6 <= extra.length){
+                return ((extra[i + 4] & 0xff) | ((extra[i + 5] & 0xff) << 8)) + 1;
+            }
+            i += 4 + length;
+        }
+        return -1;
+    }
+
+    /**
+     * Inflates a member's deflate data, checking
+     * it against the member's trailer. The deflate
+     * data must end exactly where the trailer starts,
+     * and inflate to exactly ISIZE bytes.
+     *
+     * @param data the deflate data, followed by the trailer
+     * @return the member's contents
+     * @throws ZipException if the member is truncated or corrupt
+     */
+    private static byte[] inflate(byte[] data) throws IOException {
+        int t = data.length - TRAILER_SIZE;
+        long crc = readLittleEndian(data, t);
+        long size = readLittleEndian(data, t + 4);
+        if (size > (long) t * MAX_RATIO){
+            throw new ZipException("Gzip member cannot inflate to " + size + " bytes");
+        }
+
+        byte[] out = new byte[(int) size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, 0, t);
+            int done = 0;
+            while (done < out.length){
+                int n = inflater.inflate(out, done, out.length - done);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())){
+                    throw new ZipException("Gzip member is shorter than its trailer says");
+                }
+                done += n;
+            }
+            // The end of the deflate data may not have been read yet
+            if (!inflater.finished() && inflater.inflate(new byte[1]) > 0){
+                throw new ZipException("Gzip member is longer than its trailer says");
+            }
+            if (!inflater.finished() || inflater.getRemaining() > 0){
+                throw new ZipException("Gzip member does not end at its trailer");
+            }
+        } catch (DataFormatException e){
+            throw new ZipException("Corrupt gzip member: " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 check = new CRC32();
+        check.update(out, 0, out.length);
+        if (check.getValue() != crc){
+            throw new ZipException("Gzip member failed its CRC check");
+        }
+        return out;
+    }
+
+    private static long readLittleEndian(byte[] b, int off){
+        return (b[off] & 0xffL)
+                | ((b[off + 1] & 0xffL) << 8)
+                | ((b[off + 2] & 0xffL) << 16)
+                | ((b[off + 3] & 0xffL) << 24);
+    }
+}
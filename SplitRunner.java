@@ -0,0 +1,265 @@
+package englishNumbers;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parses a large file by splitting it into
+ * line-aligned {@link ByteRange}s, parsing each
+ * range on its own (in a thread, or in a separate
+ * JVM), and writing the output of each range in
+ * file order. The result is the same as parsing
+ * the whole file with {@link EntryPoint#run}.
+ * <p>
+ * Each range's output and errors are kept in
+ * temporary files until it is their turn.
+ * Errors from every range count towards the
+ * exit code, as they would in a single run.
+ * <p>
+ * When aggregating, each range is folded into
+ * its own {@link Aggregate}, and only their
+ * merged summary is written.
+ * <p>
+ * To spread a file over several hosts, run
+ * EntryPoint with --range on each host and
+ * concatenate the outputs in range order.
+ *
+ */
+class SplitRunner {
+    /** The ErrorManager */
+    private static ErrorManager em = ErrorManager.getInstance();
+
+    /** The file to parse */
+    private final File input;
+    /** How many ranges to split it into */
+    private final int workers;
+    /** Parse each range in a separate JVM? */
+    private final boolean separateJvms;
+    /** Totals of all ranges, or null if not aggregating */
+    private final Aggregate total;
+
+    /**
+     * @param input the file to parse
+     * @param workers how many ranges to parse at once
+     * @param separateJvms whether to parse each range in a child JVM
+     * @param aggregate whether to write only a summary of the values
+     */
+    SplitRunner(File input, int workers, boolean separateJvms, boolean aggregate){
+        assert (workers > 0) : "Need at least one worker";
+        assert !(separateJvms && aggregate) : "Child JVMs cannot be aggregated";
+        this.input = input;
+        this.workers = workers;
+        this.separateJvms = separateJvms;
+        this.total = aggregate ? new Aggregate() : null;
+    }
+
+    /**
+     * Parses the file, writing its output in order.
+     * Errors go to the output set on the {@link ErrorManager}.
+     *
+     * @param output where to write the numbers
+     * @throws IOException if the file cannot be read
+     *         or the temporary files cannot be written
+     * @throws InterruptedException if interrupted while waiting for workers
+     */
+    void run(PrintStream output) throws IOException, InterruptedException {
+        List<ByteRange> ranges = ByteRange.split(input, workers);
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<RangePart> parts = new ArrayList<RangePart>(ranges.size());
+        try {
+            for (ByteRange range : ranges){
+                RangePart part = new RangePart(range);
+                part.result = pool.submit(separateJvms ? part.inJvm() : part.inThread());
+                parts.add(part);
+            }
+
+            // Write out each range as soon as it and all before it are done
+            for (RangePart part : parts){
+                part.finish(output);
+            }
+            if (total != null){
+                total.print(output);
+            }
+        } finally {
+            pool.shutdownNow();
+            for (RangePart part : parts){
+                part.delete();
+            }
+        }
+    }
+
+    /**
+     * Parses the given range of a file, as
+     * a worker does.
+     *
+     * @param input the file to parse
+     * @param range the part of it to parse
+     * @param output where to write the numbers
+     * @param aggregate where to fold the values instead
+     *        of writing them, or null to write them
+     * @throws IOException if the file cannot be read
+     */
+    static void runRange(File input, ByteRange range, PrintStream output, Aggregate aggregate) throws IOException {
+        FileInputStream in = new FileInputStream(input);
+        try {
+            in.getChannel().position(range.start);
+            LineReader reader = new LineReader(in, range.length());
+            if (aggregate != null){
+                EntryPoint.aggregate(reader, aggregate, null);
+            } else {
+                EntryPoint.process(reader, output);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /** Copies a file to a stream */
+    private static void copy(File from, OutputStream to) throws IOException {
+        InputStream in = new FileInputStream(from);
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0){
+                to.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * One range of the input, with the temporary
+     * files holding its output and errors.
+     */
+    private class RangePart {
+        final ByteRange range;
+        final File output;
+        final File errors;
+        /** Totals of this range, or null if not aggregating */
+        final Aggregate aggregate;
+        /** Exit code of the worker */
+        Future<Integer> result;
+        /** The child JVM parsing the range, once started */
+        volatile Process process = null;
+
+        RangePart(ByteRange range) throws IOException {
+            this.range = range;
+            this.aggregate = (total != null) ? new Aggregate() : null;
+            this.output = File.createTempFile("englishNumbers-out-", ".part");
+            this.errors = File.createTempFile("englishNumbers-err-", ".part");
+        }
+
+        /** Parses the range in the worker thread */
+        Callable<Integer> inThread(){
+            return new Callable<Integer>(){
+                @Override
+                public Integer call() throws IOException {
+                    PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(output)));
+                    PrintStream err = new PrintStream(new BufferedOutputStream(new FileOutputStream(errors)));
+                    em.setWorkerErrorOutput(err);
+                    try {
+                        runRange(input, range, out, aggregate);
+                    } finally {
+                        em.clearWorkerErrorOutput();
+                        out.close();
+                        err.close();
+                    }
+                    return 0;
+                }
+            };
+        }
+
+        /** Parses the range in a child JVM, which the worker thread waits for */
+        Callable<Integer> inJvm(){
+            return new Callable<Integer>(){
+                @Override
+                public Integer call() throws IOException, InterruptedException {
+                    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+                    List<String> command = new ArrayList<String>(Arrays.asList(java,
+                            "-cp", System.getProperty("java.class.path"),
+                            EntryPoint.class.getName(),
+                            "--range", range.toString()));
+                    if (Lexicon.getMaxEdits() > 0){
+                        command.add("--fuzzy");
+                        command.add(Integer.toString(Lexicon.getMaxEdits()));
+                    }
+                    if (Lexicon.isSegmenting()){
+                        command.add("--segment");
+                    }
+                    command.add(input.getPath());
+                    ProcessBuilder pb = new ProcessBuilder(command);
+                    pb.redirectOutput(output);
+                    pb.redirectError(errors);
+                    process = pb.start();
+                    try {
+                        return process.waitFor();
+                    } finally {
+                        // Not left running if interrupted, as when another part fails
+                        process.destroy();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Waits for the range to be parsed, then writes
+         * its output and errors.
+         */
+        void finish(PrintStream to) throws IOException, InterruptedException {
+            int exitCode;
+            try {
+                exitCode = result.get();
+            } catch (ExecutionException e){
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException){
+                    throw (IOException) cause;
+                }
+                throw new IOException("Worker for bytes " + range + " failed", cause);
+            }
+
+            if (aggregate != null){
+                total.merge(aggregate);
+            }
+
+            to.flush();
+            copy(output, to);
+            to.flush();
+
+            // Errors from a thread were counted when it wrote them
+            InputStream err = new FileInputStream(errors);
+            try {
+                int found = em.relay(err, separateJvms);
+                if (exitCode != 0 && found == 0){
+                    em.error("Worker for bytes %s exited with code %d", range, exitCode);
+                }
+            } finally {
+                err.close();
+            }
+        }
+
+        /** Stops the child JVM, if any, and deletes the temporary files */
+        void delete(){
+            Process running = process;
+            if (running != null){
+                running.destroy();
+            }
+            output.delete();
+            errors.delete();
+        }
+    }
+}
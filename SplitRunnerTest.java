@@ -0,0 +1,79 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SplitRunnerTest {
+
+	static final String INPUT =
+			"one\n" +
+			"minus five\n" +
+			"bogus\n" +
+			"three hundred twenty six\n" +
+			"two thousand five\n" +
+			"Nine\n" +
+			"sixty seven\n" +
+			"nine hundred ninety nine million nine hundred ninety nine thousand nine hundred ninety nine\n" +
+			"ten";
+
+	File file;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("SplitRunnerTest", ".txt");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(INPUT.getBytes("US-ASCII"));
+		out.close();
+	}
+
+	@Test
+	public void testSplitIsLineAligned() throws Exception {
+		byte[] bytes = INPUT.getBytes("US-ASCII");
+		for (int parts = 1; parts <= 12; parts++){
+			List<ByteRange> ranges = ByteRange.split(file, parts);
+			assertTrue("Too many ranges", ranges.size() <= parts);
+			assertEquals("Ranges should start at 0", 0, ranges.get(0).start);
+			assertEquals("Ranges should end at EOF", bytes.length, ranges.get(ranges.size() - 1).end);
+			for (int i = 1; i < ranges.size(); i++){
+				ByteRange range = ranges.get(i);
+				assertEquals("Ranges should be contiguous", ranges.get(i - 1).end, range.start);
+				assertEquals("Range should start a line", '\n', bytes[(int) range.start - 1]);
+			}
+		}
+	}
+
+	@Test
+	public void testSplitMatchesSingleRun() throws Exception {
+		ByteArrayOutputStream expectedOut = new ByteArrayOutputStream();
+		ByteArrayOutputStream expectedErr = new ByteArrayOutputStream();
+		EntryPoint.run(new ByteArrayInputStream(INPUT.getBytes("US-ASCII")),
+				new PrintStream(expectedOut, true), new PrintStream(expectedErr, true));
+
+		for (int workers = 2; workers <= 5; workers++){
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ByteArrayOutputStream err = new ByteArrayOutputStream();
+			ErrorManager em = ErrorManager.getInstance();
+			em.setErrorOutput(new PrintStream(err, true));
+			int errorsBefore = em.getErrorCount();
+
+			PrintStream output = new PrintStream(out, true);
+			new SplitRunner(file, workers, false, false).run(output);
+			output.flush();
+
+			assertEquals("Output differs with " + workers + " workers", expectedOut.toString(), out.toString());
+			assertEquals("Errors differ with " + workers + " workers", expectedErr.toString(), err.toString());
+			assertEquals("Errors should all be counted", 2, em.getErrorCount() - errorsBefore);
+		}
+	}
+
+}
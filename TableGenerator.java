@@ -0,0 +1,648 @@
+package englishNumbers;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Build-time tool that writes TokenTables.java:
+ * the words of every language, from their
+ * vocabulary files, as one lookup and one trie;
+ * and the grammar of a number in each language
+ * as a state table. Run by the "generate-tables"
+ * target of build.xml.
+ * <p>
+ * Everything is written as constant arrays, packed
+ * strings and a string switch, so nothing has to be
+ * built when the parser's classes are initialized.
+ * <p>
+ * Each language's grammar is the same basic one,
+ * changed by the options on its "grammar" line:
+ * <ul>
+ * <li>implied-one: "hundred" and "thousand" may
+ *     start a group, standing for one hundred and
+ *     one thousand
+ * <li>and-before-units: tens may be followed by
+ *     AND and then the units ("treinta y uno")
+ * <li>teen-after-tens: tens may be followed by a
+ *     teen, which is added to them ("soixante-douze")
+ * <li>units-before-tens: units may be followed by
+ *     AND and then the tens ("einundzwanzig")
+ * <li>and-after-hundred: "hundred" may be followed
+ *     by AND before the rest of its triplet
+ * <li>and-after-scale: "million" and "thousand" may
+ *     be followed by AND before the tens or units
+ *     that end the number ("one thousand and five",
+ *     but not "two million and five thousand")
+ * </ul>
+ * <p>
+ * This is compiled and run before the rest of the
+ * sources, so it must not use any of them.
+ *
+ */
+class TableGenerator {
+    /** Token types, in the order TokenType declares them */
+    static final String[] TYPES = {
+        "ZERO", "MINUS", "MILLION", "THOUSAND", "HUNDRED", "NTY", "TEEN", "DIGIT", "AND"
+    };
+    /** Types whose tokens have values */
+    static final Set<String> VALUED = new HashSet<String>(Arrays.asList("NTY", "TEEN", "DIGIT"));
+
+    static final Set<String> GRAMMAR_OPTIONS = new HashSet<String>(Arrays.asList(
+        "implied-one", "and-before-units", "teen-after-tens", "units-before-tens", "and-after-hundred",
+        "and-after-scale"
+    ));
+
+    /*
+     * Kinds of parse error, each reported with
+     * the previous token and the unexpected one
+     * (or end of input, as null).
+     */
+    static final String[] ERROR_FORMATS = {
+        "Unexpected token: \"%2$s\"",
+        "After \"%1$s\", additional token detected: \"%2$s\"",
+        "Expected million, thousand, or end-of-file; got \"%2$s\"",
+        "Expected thousand or end-of-file; got \"%2$s\"",
+        "Expected end of file; got \"%2$s\"",
+    };
+    private static final int UNEXPECTED = 0;
+    private static final int AFTER_ZERO = 1;
+    /** Plus the scale level, for the states that end a triplet */
+    private static final int EXPECTED_SCALE = 2;
+
+    /* Scale levels: which scale words may still follow */
+    private static final String[] LEVEL_NAMES = {"", "_AFTER_MILLION", "_AFTER_THOUSAND"};
+
+    /** A language, as its vocabulary file describes it */
+    private static class Language {
+        String name;
+        boolean compound = false;
+        Set<String> grammar = new HashSet<String>();
+        /** Its grammar's start state */
+        int start;
+    }
+
+    private final List<Language> languages = new ArrayList<Language>();
+
+    /* Words of all languages; each is one entry, whichever languages have it */
+    private final List<String> words = new ArrayList<String>();
+    private final Map<String, Integer> wordIndex = new HashMap<String, Integer>();
+    /** Bit i set if languages[i] has the word */
+    private final List<Integer> wordLanguages = new ArrayList<Integer>();
+    private final List<List<String>> wordTypes = new ArrayList<List<String>>();
+    private final List<List<String>> wordValues = new ArrayList<List<String>>();
+
+    /* The trie of all words: edges from each node, by character, and the word it ends */
+    private final List<TreeMap<Character, Integer>> trieEdges = new ArrayList<TreeMap<Character, Integer>>();
+    private final List<Integer> trieWords = new ArrayList<Integer>();
+
+    /** Names of the grammar states, of all languages */
+    private final List<String> stateNames = new ArrayList<String>();
+    private final List<Boolean> accepting = new ArrayList<Boolean>();
+    private final List<Integer> errorKinds = new ArrayList<Integer>();
+    /** Transitions, TYPES.length per state; -1 if none */
+    private final List<int[]> next = new ArrayList<int[]>();
+
+    /**
+     * Generates TokenTables.java.
+     *
+     * @param args the Java file to write, then the vocabulary
+     *        files, in order of preference
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2){
+            System.err.println("Usage: TableGenerator OUTPUT VOCABULARY...");
+            System.exit(2);
+        }
+        TableGenerator generator = new TableGenerator();
+        List<String> vocabularies = Arrays.asList(args).subList(1, args.length);
+        for (String vocabulary : vocabularies){
+            generator.readVocabulary(vocabulary);
+        }
+        generator.buildTrie();
+        for (Language language : generator.languages){
+            generator.buildGrammar(language);
+        }
+        generator.write(vocabularies, args[0]);
+    }
+
+    /*
+     * Vocabulary
+     */
+
+    /** Reads directives, and lines of "TYPE[+TYPE...] word [value...]" */
+    private void readVocabulary(String file) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            Language language = null;
+            Set<String> seen = new HashSet<String>();
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null){
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")){
+                    continue;
+                }
+                String where = file + ":" + lineNumber + ": ";
+                String[] fields = line.split("\\s+");
+
+                if (fields[0].equals("language")){
+                    if (language != null || fields.length != 2){
+                        throw new IOException(where + "expected one \"language NAME\", before any words");
+                    }
+                    language = new Language();
+                    language.name = fields[1];
+                    languages.add(language);
+                    if (languages.size() > 31){
+                        throw new IOException(where + "too many languages");
+                    }
+                    continue;
+                }
+                if (language == null){
+                    throw new IOException(where + "expected \"language NAME\" first");
+                }
+                if (fields[0].equals("compound")){
+                    language.compound = true;
+                    continue;
+                }
+                if (fields[0].equals("grammar")){
+                    for (int i = 1; i < fields.length; i++){
+                        if (!GRAMMAR_OPTIONS.contains(fields[i])){
+                            throw new IOException(where + "unknown grammar option \"" + fields[i] + "\"");
+                        }
+                        language.grammar.add(fields[i]);
+                    }
+                    continue;
+                }
+
+                if (fields.length < 2){
+                    throw new IOException(where + "expected TYPE word [value]");
+                }
+                List<String> types = Arrays.asList(fields[0].split("\\+"));
+                List<String> values = new ArrayList<String>();
+                int valueField = 2;
+                for (String type : types){
+                    if (!Arrays.asList(TYPES).contains(type)){
+                        throw new IOException(where + "unknown token type \"" + type + "\"");
+                    }
+                    if (!VALUED.contains(type)){
+                        values.add("NumberToken.NO_VAL");
+                    } else if (valueField < fields.length){
+                        values.add(Integer.valueOf(fields[valueField++]).toString());
+                    } else {
+                        throw new IOException(where + "expected a value for " + type);
+                    }
+                }
+                if (valueField != fields.length){
+                    throw new IOException(where + "too many values");
+                }
+                String word = fields[1];
+                if (!seen.add(word)){
+                    throw new IOException(where + "duplicate word \"" + word + "\"");
+                }
+                addWord(where, word, languages.size() - 1, types, values);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Adds a word of a language; if another language
+     * already has it, it must mean the same there.
+     */
+    private void addWord(String where, String word, int language, List<String> types, List<String> values)
+            throws IOException {
+        Integer index = wordIndex.get(word);
+        if (index == null){
+            wordIndex.put(word, words.size());
+            words.add(word);
+            wordLanguages.add(1 << language);
+            wordTypes.add(types);
+            wordValues.add(values);
+            return;
+        }
+        if (!wordTypes.get(index).equals(types) || !wordValues.get(index).equals(values)){
+            throw new IOException(where + "\"" + word + "\" means something else in another language");
+        }
+        wordLanguages.set(index, wordLanguages.get(index) | (1 << language));
+    }
+
+    /** Builds a trie of every word, for matching parts of words */
+    private void buildTrie(){
+        newNode();
+        for (int w = 0; w < words.size(); w++){
+            String word = words.get(w);
+            int node = 0;
+            for (int i = 0; i < word.length(); i++){
+                Integer child = trieEdges.get(node).get(word.charAt(i));
+                if (child == null){
+                    child = newNode();
+                    trieEdges.get(node).put(word.charAt(i), child);
+                }
+                node = child;
+            }
+            trieWords.set(node, w);
+        }
+    }
+
+    private int newNode(){
+        trieEdges.add(new TreeMap<Character, Integer>());
+        trieWords.add(-1);
+        return trieEdges.size() - 1;
+    }
+
+    /*
+     * Grammar
+     */
+
+    /**
+     * Builds the grammar of a language:
+     * <pre>
+     * number  := ZERO | MINUS? triplet (MILLION after-million? | THOUSAND after-thousand?)?
+     * after-million  := triplet (THOUSAND after-thousand?)?
+     * after-thousand := triplet
+     * triplet := DIGIT | DIGIT HUNDRED tens? | tens
+     * tens    := NTY DIGIT? | TEEN | DIGIT
+     * </pre>
+     * (a lone DIGIT in tens only after HUNDRED),
+     * with the language's grammar options.
+     */
+    private void buildGrammar(Language language){
+        boolean impliedOne = language.grammar.contains("implied-one");
+        boolean andBeforeUnits = language.grammar.contains("and-before-units");
+        boolean teenAfterTens = language.grammar.contains("teen-after-tens");
+        boolean unitsBeforeTens = language.grammar.contains("units-before-tens");
+        boolean andAfterHundred = language.grammar.contains("and-after-hundred");
+        boolean andAfterScale = language.grammar.contains("and-after-scale");
+        String prefix = language.name + ":";
+
+        int start = state(prefix + "START", false, UNEXPECTED);
+        int negative = state(prefix + "NEGATIVE", false, UNEXPECTED);
+        int zero = state(prefix + "ZERO", true, AFTER_ZERO);
+        edge(start, "ZERO", zero);
+        edge(start, "MINUS", negative);
+        language.start = start;
+
+        // A triplet at each scale level; the first starts at START or NEGATIVE
+        int[] groupStart = new int[LEVEL_NAMES.length];
+        int[] scaleAnd = new int[LEVEL_NAMES.length];
+        for (int level = 1; level < LEVEL_NAMES.length; level++){
+            groupStart[level] = state(prefix + "TRIPLET" + LEVEL_NAMES[level], true, UNEXPECTED);
+        }
+        for (int level = 0; level < LEVEL_NAMES.length; level++){
+            String suffix = LEVEL_NAMES[level];
+            int kind = EXPECTED_SCALE + level;
+            int digit = state(prefix + "DIGIT" + suffix, true, kind);
+            int hundred = state(prefix + "HUNDRED" + suffix, true, kind);
+            int nty = state(prefix + "NTY" + suffix, true, kind);
+            int done = state(prefix + "DONE" + suffix, true, kind);
+            List<Integer> ends = new ArrayList<Integer>(Arrays.asList(digit, hundred, nty, done));
+
+            // Units after a hundred; with units-before-tens, tens may follow
+            int units = done;
+            if (unitsBeforeTens){
+                units = state(prefix + "UNITS" + suffix, true, kind);
+                ends.add(units);
+                int digitAnd = state(prefix + "DIGIT_AND" + suffix, false, UNEXPECTED);
+                edge(digit, "AND", digitAnd);
+                edge(units, "AND", digitAnd);
+                edge(digitAnd, "NTY", done);
+            }
+
+            int[] starts = (level == 0) ? new int[]{start, negative} : new int[]{groupStart[level]};
+            for (int s : starts){
+                edge(s, "DIGIT", digit);
+                edge(s, "NTY", nty);
+                edge(s, "TEEN", done);
+                if (impliedOne){
+                    edge(s, "HUNDRED", hundred);
+                    if (level < 2){
+                        edge(s, "THOUSAND", groupStart[2]);
+                    }
+                }
+            }
+            edge(digit, "HUNDRED", hundred);
+            edge(hundred, "NTY", nty);
+            edge(hundred, "TEEN", done);
+            edge(hundred, "DIGIT", units);
+            edge(nty, "DIGIT", done);
+            if (teenAfterTens){
+                edge(nty, "TEEN", done);
+            }
+            if (andAfterHundred){
+                int hundredAnd = state(prefix + "HUNDRED_AND" + suffix, false, UNEXPECTED);
+                edge(hundred, "AND", hundredAnd);
+                edge(hundredAnd, "NTY", nty);
+                edge(hundredAnd, "TEEN", done);
+                edge(hundredAnd, "DIGIT", units);
+            }
+            if (andAfterScale && level > 0){
+                scaleAnd[level] = state(prefix + "SCALE_AND" + suffix, false, UNEXPECTED);
+                edge(groupStart[level], "AND", scaleAnd[level]);
+            }
+            if (andAfterScale && level == LEVEL_NAMES.length - 1){
+                // Only the last triplet, which no scale word can follow
+                for (int l = 1; l < LEVEL_NAMES.length; l++){
+                    edge(scaleAnd[l], "NTY", nty);
+                    edge(scaleAnd[l], "TEEN", done);
+                    edge(scaleAnd[l], "DIGIT", units);
+                }
+            }
+            if (andBeforeUnits){
+                int ntyAnd = state(prefix + "NTY_AND" + suffix, false, UNEXPECTED);
+                edge(nty, "AND", ntyAnd);
+                edge(ntyAnd, "DIGIT", done);
+                if (teenAfterTens){
+                    edge(ntyAnd, "TEEN", done);
+                }
+            }
+
+            // Scale words may follow any part of a triplet
+            for (int s : ends){
+                if (level == 0){
+                    edge(s, "MILLION", groupStart[1]);
+                }
+                if (level < 2){
+                    edge(s, "THOUSAND", groupStart[2]);
+                }
+            }
+        }
+    }
+
+    private int state(String name, boolean accepts, int errorKind){
+        stateNames.add(name);
+        accepting.add(accepts);
+        errorKinds.add(errorKind);
+        int[] row = new int[TYPES.length];
+        Arrays.fill(row, -1);
+        next.add(row);
+        return stateNames.size() - 1;
+    }
+
+    private void edge(int from, String type, int to){
+        next.get(from)[Arrays.asList(TYPES).indexOf(type)] = to;
+    }
+
+    /*
+     * Output
+     */
+
+    private void write(List<String> vocabularies, String file) throws IOException {
+        if (trieEdges.size() + 1 > Character.MAX_VALUE || stateNames.size() > Short.MAX_VALUE){
+            throw new IOException("Too many words to pack into TokenTables");
+        }
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        try {
+            out.println("/*");
+            out.println(" * Generated by TableGenerator from " + vocabularies + ". Do not edit.");
+            out.println(" */");
+            out.println("package englishNumbers;");
+            out.println();
+            out.println("/**");
+            out.println(" * The vocabularies and grammars of numbers,");
+            out.println(" * as constant tables.");
+            out.println(" */");
+            out.println("final class TokenTables {");
+            out.println("    private TokenTables(){ }");
+            out.println();
+
+            writeVocabulary(out);
+            writeTrie(out);
+            writeGrammar(out);
+
+            out.println("}");
+        } finally {
+            out.close();
+        }
+        if (out.checkError()){
+            throw new IOException("Could not write " + file);
+        }
+    }
+
+    private void writeVocabulary(PrintWriter out){
+        List<String> names = new ArrayList<String>();
+        int compounding = 0;
+        for (int i = 0; i < languages.size(); i++){
+            names.add(languages.get(i).name);
+            if (languages.get(i).compound){
+                compounding |= 1 << i;
+            }
+        }
+
+        out.println("    /** Names of the token types, in TokenType order */");
+        out.println("    static final String[] TYPE_NAMES = {" + quoted(Arrays.asList(TYPES)) + "};");
+        out.println();
+        out.println("    /** Names of the languages; a set of them is a mask of 1 << index */");
+        out.println("    static final String[] LANGUAGES = {" + quoted(names) + "};");
+        out.println();
+        out.println("    /** Languages whose words may be compounds of their words */");
+        out.println("    static final int COMPOUNDING = " + compounding + ";");
+        out.println();
+        out.println("    /** Every word, of every language */");
+        out.println("    static final String[] WORDS = {");
+        for (String word : words){
+            out.println("        " + literal(word) + ",");
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** Languages that have each word */");
+        out.println("    static final int[] WORD_LANGUAGES = {");
+        for (int w = 0; w < words.size(); w++){
+            out.println("        " + wordLanguages.get(w) + ", // " + escape(words.get(w)));
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** Index of each word's first token; one more for the end */");
+        out.println("    static final int[] WORD_TOKENS = {");
+        int tokens = 0;
+        for (int w = 0; w < words.size(); w++){
+            out.println("        " + tokens + ", // " + escape(words.get(w)));
+            tokens += wordTypes.get(w).size();
+        }
+        out.println("        " + tokens + ",");
+        out.println("    };");
+        out.println();
+        out.println("    /** Type of each token */");
+        out.println("    static final TokenType[] TOKEN_TYPES = {");
+        for (List<String> types : wordTypes){
+            for (String type : types){
+                out.println("        TokenType." + type + ",");
+            }
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** Value of each token */");
+        out.println("    static final int[] TOKEN_VALUES = {");
+        for (List<String> values : wordValues){
+            for (String value : values){
+                out.println("        " + value + ",");
+            }
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /**");
+        out.println("     * Finds a word.");
+        out.println("     *");
+        out.println("     * @return its index in WORDS, or -1 if it is not a word");
+        out.println("     */");
+        out.println("    static int indexOf(String word){");
+        out.println("        switch (word){");
+        for (int i = 0; i < words.size(); i++){
+            out.println("            case " + literal(words.get(i)) + ": return " + i + ";");
+        }
+        out.println("            default: return -1;");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+    }
+
+    private void writeTrie(PrintWriter out){
+        StringBuilder firstEdge = new StringBuilder();
+        StringBuilder chars = new StringBuilder();
+        StringBuilder targets = new StringBuilder();
+        StringBuilder nodeWords = new StringBuilder();
+        for (int node = 0; node < trieEdges.size(); node++){
+            firstEdge.append((char) chars.length());
+            for (Map.Entry<Character, Integer> edge : trieEdges.get(node).entrySet()){
+                chars.append(edge.getKey().charValue());
+                targets.append((char) edge.getValue().intValue());
+            }
+            nodeWords.append((char) (trieWords.get(node) + 1));
+        }
+        firstEdge.append((char) chars.length());
+
+        out.println("    /*");
+        out.println("     * The trie of all words, packed into strings");
+        out.println("     * of chars. Node 0 is the root. The edges");
+        out.println("     * out of node n are TRIE_CHARS and TRIE_TARGETS");
+        out.println("     * from TRIE_FIRST_EDGE[n] to TRIE_FIRST_EDGE[n + 1],");
+        out.println("     * sorted by char. TRIE_WORDS[n] is one more than");
+        out.println("     * the index of the word ending at n, or 0.");
+        out.println("     */");
+        out.println("    static final String TRIE_FIRST_EDGE =");
+        writePacked(out, firstEdge);
+        out.println("    static final String TRIE_CHARS =");
+        writePacked(out, chars);
+        out.println("    static final String TRIE_TARGETS =");
+        writePacked(out, targets);
+        out.println("    static final String TRIE_WORDS =");
+        writePacked(out, nodeWords);
+        out.println();
+    }
+
+    /**
+     * Writes chars as a string constant, 16 to a line.
+     * Small ones are written in octal: a unicode escape
+     * of a quote or line break would end the literal.
+     */
+    private static void writePacked(PrintWriter out, CharSequence chars){
+        for (int i = 0; i < chars.length(); i += 16){
+            StringBuilder line = new StringBuilder("        \"");
+            for (int j = i; j < Math.min(i + 16, chars.length()); j++){
+                int c = chars.charAt(j);
+                line.append(String.format((c < 0x100) ? "\\%03o" : "\\u%04x", c));
+            }
+            line.append((i + 16 < chars.length()) ? "\" +" : "\";");
+            out.println(line);
+        }
+        if (chars.length() == 0){
+            out.println("        \"\";");
+        }
+    }
+
+    private void writeGrammar(PrintWriter out){
+        StringBuilder starts = new StringBuilder();
+        for (Language language : languages){
+            starts.append((starts.length() > 0) ? ", " : "").append(language.start);
+        }
+        out.println("    /** Grammar state before any tokens, for each language */");
+        out.println("    static final int[] START = {" + starts + "};");
+        out.println();
+        out.println("    /** Names of the grammar states */");
+        out.println("    static final String[] STATE_NAMES = {");
+        for (String name : stateNames){
+            out.println("        \"" + name + "\",");
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /**");
+        out.println("     * Next state, indexed by state * TYPE_NAMES.length");
+        out.println("     * plus token type ordinal; -1 if the token cannot");
+        out.println("     * come next.");
+        out.println("     */");
+        out.println("    static final short[] NEXT = {");
+        for (int s = 0; s < stateNames.size(); s++){
+            StringBuilder row = new StringBuilder("        ");
+            for (int to : next.get(s)){
+                row.append(String.format("%3d, ", to));
+            }
+            out.println(row.toString() + "// " + stateNames.get(s));
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** May the input end in each state? */");
+        out.println("    static final boolean[] ACCEPTING = {");
+        for (int s = 0; s < stateNames.size(); s++){
+            out.println("        " + accepting.get(s) + ", // " + stateNames.get(s));
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** Index into ERROR_FORMATS for a bad token in each state */");
+        out.println("    static final byte[] ERROR_KIND = {");
+        for (int s = 0; s < stateNames.size(); s++){
+            out.println("        " + errorKinds.get(s) + ", // " + stateNames.get(s));
+        }
+        out.println("    };");
+        out.println();
+        out.println("    /** Error messages; formatted with the previous token and the bad one */");
+        out.println("    static final String[] ERROR_FORMATS = {");
+        for (String format : ERROR_FORMATS){
+            out.println("        " + literal(format) + ",");
+        }
+        out.println("    };");
+    }
+
+    private static String quoted(List<String> strings){
+        StringBuilder sb = new StringBuilder();
+        for (String s : strings){
+            if (sb.length() > 0){
+                sb.append(", ");
+            }
+            sb.append(literal(s));
+        }
+        return sb.toString();
+    }
+
+    /** A string as a Java literal */
+    private static String literal(String s){
+        return "\"" + escape(s.replace("\\", "\\\\").replace("\"", "\\\"")) + "\"";
+    }
+
+    /** Escapes non-ASCII chars, so the output's encoding does not matter */
+    private static String escape(String s){
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < s.length(); i++){
+            char c = s.charAt(i);
+            if (c < 0x20 || c > 0x7e){
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
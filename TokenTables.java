@@ -0,0 +1,1616 @@
+/*
+ * Generated by TableGenerator from [vocabulary-en.txt, vocabulary-de.txt, vocabulary-fr.txt, vocabulary-es.txt]. Do not edit.
+ */
+package englishNumbers;
+
+/**
+ * The vocabularies and grammars of numbers,
+ * as constant tables.
+ */
+final class TokenTables {
+    private TokenTables(){ }
+
+    /** Names of the token types, in TokenType order */
+    static final String[] TYPE_NAMES = {"ZERO", "MINUS", "MILLION", "THOUSAND", "HUNDRED", "NTY", "TEEN", "DIGIT", "AND"};
+
+    /** Names of the languages; a set of them is a mask of 1 << index */
+    static final String[] LANGUAGES = {"en", "de", "fr", "es"};
+
+    /** Languages whose words may be compounds of their words */
+    static final int COMPOUNDING = 6;
+
+    /** Every word, of every language */
+    static final String[] WORDS = {
+        "zero",
+        "naught",
+        "minus",
+        "negative",
+        "million",
+        "thousand",
+        "hundred",
+        "and",
+        "twenty",
+        "thirty",
+        "forty",
+        "fifty",
+        "sixty",
+        "seventy",
+        "eighty",
+        "ninety",
+        "ten",
+        "eleven",
+        "twelve",
+        "thirteen",
+        "fourteen",
+        "fifteen",
+        "sixteen",
+        "seventeen",
+        "eighteen",
+        "nineteen",
+        "one",
+        "two",
+        "three",
+        "four",
+        "five",
+        "six",
+        "seven",
+        "eight",
+        "nine",
+        "null",
+        "millionen",
+        "Million",
+        "Millionen",
+        "tausend",
+        "hundert",
+        "und",
+        "zwanzig",
+        "drei\u00dfig",
+        "dreissig",
+        "vierzig",
+        "f\u00fcnfzig",
+        "sechzig",
+        "siebzig",
+        "achtzig",
+        "neunzig",
+        "zehn",
+        "elf",
+        "zw\u00f6lf",
+        "dreizehn",
+        "vierzehn",
+        "f\u00fcnfzehn",
+        "sechzehn",
+        "siebzehn",
+        "achtzehn",
+        "neunzehn",
+        "eins",
+        "ein",
+        "eine",
+        "zwei",
+        "drei",
+        "vier",
+        "f\u00fcnf",
+        "sechs",
+        "sieben",
+        "acht",
+        "neun",
+        "z\u00e9ro",
+        "moins",
+        "millions",
+        "mille",
+        "cent",
+        "cents",
+        "et",
+        "vingt",
+        "trente",
+        "quarante",
+        "cinquante",
+        "soixante",
+        "septante",
+        "quatre-vingt",
+        "quatre-vingts",
+        "huitante",
+        "octante",
+        "nonante",
+        "dix",
+        "onze",
+        "douze",
+        "treize",
+        "quatorze",
+        "quinze",
+        "seize",
+        "dix-sept",
+        "dix-huit",
+        "dix-neuf",
+        "un",
+        "une",
+        "deux",
+        "trois",
+        "quatre",
+        "cinq",
+        "sept",
+        "huit",
+        "neuf",
+        "cero",
+        "menos",
+        "mill\u00f3n",
+        "millones",
+        "mil",
+        "cien",
+        "ciento",
+        "doscientos",
+        "trescientos",
+        "cuatrocientos",
+        "quinientos",
+        "seiscientos",
+        "setecientos",
+        "ochocientos",
+        "novecientos",
+        "y",
+        "veinte",
+        "veintiuno",
+        "veinti\u00fan",
+        "veintiuna",
+        "veintid\u00f3s",
+        "veintitr\u00e9s",
+        "veinticuatro",
+        "veinticinco",
+        "veintis\u00e9is",
+        "veintisiete",
+        "veintiocho",
+        "veintinueve",
+        "treinta",
+        "cuarenta",
+        "cincuenta",
+        "sesenta",
+        "setenta",
+        "ochenta",
+        "noventa",
+        "diez",
+        "once",
+        "doce",
+        "trece",
+        "catorce",
+        "quince",
+        "diecis\u00e9is",
+        "diecisiete",
+        "dieciocho",
+        "diecinueve",
+        "uno",
+        "una",
+        "dos",
+        "tres",
+        "cuatro",
+        "cinco",
+        "seis",
+        "siete",
+        "ocho",
+        "nueve",
+    };
+
+    /** Languages that have each word */
+    static final int[] WORD_LANGUAGES = {
+        1, // zero
+        1, // naught
+        3, // minus
+        1, // negative
+        7, // million
+        1, // thousand
+        1, // hundred
+        1, // and
+        1, // twenty
+        1, // thirty
+        1, // forty
+        1, // fifty
+        1, // sixty
+        1, // seventy
+        1, // eighty
+        1, // ninety
+        1, // ten
+        1, // eleven
+        1, // twelve
+        1, // thirteen
+        1, // fourteen
+        1, // fifteen
+        1, // sixteen
+        1, // seventeen
+        1, // eighteen
+        1, // nineteen
+        1, // one
+        1, // two
+        1, // three
+        1, // four
+        1, // five
+        5, // six
+        1, // seven
+        1, // eight
+        1, // nine
+        2, // null
+        2, // millionen
+        2, // Million
+        2, // Millionen
+        2, // tausend
+        2, // hundert
+        2, // und
+        2, // zwanzig
+        2, // drei\u00dfig
+        2, // dreissig
+        2, // vierzig
+        2, // f\u00fcnfzig
+        2, // sechzig
+        2, // siebzig
+        2, // achtzig
+        2, // neunzig
+        2, // zehn
+        2, // elf
+        2, // zw\u00f6lf
+        2, // dreizehn
+        2, // vierzehn
+        2, // f\u00fcnfzehn
+        2, // sechzehn
+        2, // siebzehn
+        2, // achtzehn
+        2, // neunzehn
+        2, // eins
+        2, // ein
+        2, // eine
+        2, // zwei
+        2, // drei
+        2, // vier
+        2, // f\u00fcnf
+        2, // sechs
+        2, // sieben
+        2, // acht
+        2, // neun
+        4, // z\u00e9ro
+        4, // moins
+        4, // millions
+        4, // mille
+        4, // cent
+        4, // cents
+        4, // et
+        4, // vingt
+        4, // trente
+        4, // quarante
+        4, // cinquante
+        4, // soixante
+        4, // septante
+        4, // quatre-vingt
+        4, // quatre-vingts
+        4, // huitante
+        4, // octante
+        4, // nonante
+        4, // dix
+        4, // onze
+        4, // douze
+        4, // treize
+        4, // quatorze
+        4, // quinze
+        4, // seize
+        4, // dix-sept
+        4, // dix-huit
+        4, // dix-neuf
+        12, // un
+        4, // une
+        4, // deux
+        4, // trois
+        4, // quatre
+        4, // cinq
+        4, // sept
+        4, // huit
+        4, // neuf
+        8, // cero
+        8, // menos
+        8, // mill\u00f3n
+        8, // millones
+        8, // mil
+        8, // cien
+        8, // ciento
+        8, // doscientos
+        8, // trescientos
+        8, // cuatrocientos
+        8, // quinientos
+        8, // seiscientos
+        8, // setecientos
+        8, // ochocientos
+        8, // novecientos
+        8, // y
+        8, // veinte
+        8, // veintiuno
+        8, // veinti\u00fan
+        8, // veintiuna
+        8, // veintid\u00f3s
+        8, // veintitr\u00e9s
+        8, // veinticuatro
+        8, // veinticinco
+        8, // veintis\u00e9is
+        8, // veintisiete
+        8, // veintiocho
+        8, // veintinueve
+        8, // treinta
+        8, // cuarenta
+        8, // cincuenta
+        8, // sesenta
+        8, // setenta
+        8, // ochenta
+        8, // noventa
+        8, // diez
+        8, // once
+        8, // doce
+        8, // trece
+        8, // catorce
+        8, // quince
+        8, // diecis\u00e9is
+        8, // diecisiete
+        8, // dieciocho
+        8, // diecinueve
+        8, // uno
+        8, // una
+        8, // dos
+        8, // tres
+        8, // cuatro
+        8, // cinco
+        8, // seis
+        8, // siete
+        8, // ocho
+        8, // nueve
+    };
+
+    /** Index of each word's first token; one more for the end */
+    static final int[] WORD_TOKENS = {
+        0, // zero
+        1, // naught
+        2, // minus
+        3, // negative
+        4, // million
+        5, // thousand
+        6, // hundred
+        7, // and
+        8, // twenty
+        9, // thirty
+        10, // forty
+        11, // fifty
+        12, // sixty
+        13, // seventy
+        14, // eighty
+        15, // ninety
+        16, // ten
+        17, // eleven
+        18, // twelve
+        19, // thirteen
+        20, // fourteen
+        21, // fifteen
+        22, // sixteen
+        23, // seventeen
+        24, // eighteen
+        25, // nineteen
+        26, // one
+        27, // two
+        28, // three
+        29, // four
+        30, // five
+        31, // six
+        32, // seven
+        33, // eight
+        34, // nine
+        35, // null
+        36, // millionen
+        37, // Million
+        38, // Millionen
+        39, // tausend
+        40, // hundert
+        41, // und
+        42, // zwanzig
+        43, // drei\u00dfig
+        44, // dreissig
+        45, // vierzig
+        46, // f\u00fcnfzig
+        47, // sechzig
+        48, // siebzig
+        49, // achtzig
+        50, // neunzig
+        51, // zehn
+        52, // elf
+        53, // zw\u00f6lf
+        54, // dreizehn
+        55, // vierzehn
+        56, // f\u00fcnfzehn
+        57, // sechzehn
+        58, // siebzehn
+        59, // achtzehn
+        60, // neunzehn
+        61, // eins
+        62, // ein
+        63, // eine
+        64, // zwei
+        65, // drei
+        66, // vier
+        67, // f\u00fcnf
+        68, // sechs
+        69, // sieben
+        70, // acht
+        71, // neun
+        72, // z\u00e9ro
+        73, // moins
+        74, // millions
+        75, // mille
+        76, // cent
+        77, // cents
+        78, // et
+        79, // vingt
+        80, // trente
+        81, // quarante
+        82, // cinquante
+        83, // soixante
+        84, // septante
+        85, // quatre-vingt
+        86, // quatre-vingts
+        87, // huitante
+        88, // octante
+        89, // nonante
+        90, // dix
+        91, // onze
+        92, // douze
+        93, // treize
+        94, // quatorze
+        95, // quinze
+        96, // seize
+        97, // dix-sept
+        98, // dix-huit
+        99, // dix-neuf
+        100, // un
+        101, // une
+        102, // deux
+        103, // trois
+        104, // quatre
+        105, // cinq
+        106, // sept
+        107, // huit
+        108, // neuf
+        109, // cero
+        110, // menos
+        111, // mill\u00f3n
+        112, // millones
+        113, // mil
+        114, // cien
+        115, // ciento
+        116, // doscientos
+        118, // trescientos
+        120, // cuatrocientos
+        122, // quinientos
+        124, // seiscientos
+        126, // setecientos
+        128, // ochocientos
+        130, // novecientos
+        132, // y
+        133, // veinte
+        134, // veintiuno
+        136, // veinti\u00fan
+        138, // veintiuna
+        140, // veintid\u00f3s
+        142, // veintitr\u00e9s
+        144, // veinticuatro
+        146, // veinticinco
+        148, // veintis\u00e9is
+        150, // veintisiete
+        152, // veintiocho
+        154, // veintinueve
+        156, // treinta
+        157, // cuarenta
+        158, // cincuenta
+        159, // sesenta
+        160, // setenta
+        161, // ochenta
+        162, // noventa
+        163, // diez
+        164, // once
+        165, // doce
+        166, // trece
+        167, // catorce
+        168, // quince
+        169, // diecis\u00e9is
+        170, // diecisiete
+        171, // dieciocho
+        172, // diecinueve
+        173, // uno
+        174, // una
+        175, // dos
+        176, // tres
+        177, // cuatro
+        178, // cinco
+        179, // seis
+        180, // siete
+        181, // ocho
+        182, // nueve
+        183,
+    };
+
+    /** Type of each token */
+    static final TokenType[] TOKEN_TYPES = {
+        TokenType.ZERO,
+        TokenType.ZERO,
+        TokenType.MINUS,
+        TokenType.MINUS,
+        TokenType.MILLION,
+        TokenType.THOUSAND,
+        TokenType.HUNDRED,
+        TokenType.AND,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.ZERO,
+        TokenType.MILLION,
+        TokenType.MILLION,
+        TokenType.MILLION,
+        TokenType.THOUSAND,
+        TokenType.HUNDRED,
+        TokenType.AND,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.ZERO,
+        TokenType.MINUS,
+        TokenType.MILLION,
+        TokenType.THOUSAND,
+        TokenType.HUNDRED,
+        TokenType.HUNDRED,
+        TokenType.AND,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.ZERO,
+        TokenType.MINUS,
+        TokenType.MILLION,
+        TokenType.MILLION,
+        TokenType.THOUSAND,
+        TokenType.HUNDRED,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.DIGIT,
+        TokenType.HUNDRED,
+        TokenType.AND,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.DIGIT,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.NTY,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.TEEN,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+        TokenType.DIGIT,
+    };
+
+    /** Value of each token */
+    static final int[] TOKEN_VALUES = {
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        0,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        2,
+        3,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        0,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        1,
+        1,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        8,
+        8,
+        8,
+        9,
+        0,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        1,
+        1,
+        2,
+        3,
+        4,
+        5,
+        7,
+        8,
+        9,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        2,
+        NumberToken.NO_VAL,
+        3,
+        NumberToken.NO_VAL,
+        4,
+        NumberToken.NO_VAL,
+        5,
+        NumberToken.NO_VAL,
+        6,
+        NumberToken.NO_VAL,
+        7,
+        NumberToken.NO_VAL,
+        8,
+        NumberToken.NO_VAL,
+        9,
+        NumberToken.NO_VAL,
+        NumberToken.NO_VAL,
+        2,
+        2,
+        1,
+        2,
+        1,
+        2,
+        1,
+        2,
+        2,
+        2,
+        3,
+        2,
+        4,
+        2,
+        5,
+        2,
+        6,
+        2,
+        7,
+        2,
+        8,
+        2,
+        9,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        0,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+        1,
+        1,
+        2,
+        3,
+        4,
+        5,
+        6,
+        7,
+        8,
+        9,
+    };
+
+    /**
+     * Finds a word.
+     *
+     * @return its index in WORDS, or -1 if it is not a word
+     */
+    static int indexOf(String word){
+        switch (word){
+            case "zero": return 0;
+            case "naught": return 1;
+            case "minus": return 2;
+            case "negative": return 3;
+            case "million": return 4;
+            case "thousand": return 5;
+            case "hundred": return 6;
+            case "and": return 7;
+            case "twenty": return 8;
+            case "thirty": return 9;
+            case "forty": return 10;
+            case "fifty": return 11;
+            case "sixty": return 12;
+            case "seventy": return 13;
+            case "eighty": return 14;
+            case "ninety": return 15;
+            case "ten": return 16;
+            case "eleven": return 17;
+            case "twelve": return 18;
+            case "thirteen": return 19;
+            case "fourteen": return 20;
+            case "fifteen": return 21;
+            case "sixteen": return 22;
+            case "seventeen": return 23;
+            case "eighteen": return 24;
+            case "nineteen": return 25;
+            case "one": return 26;
+            case "two": return 27;
+            case "three": return 28;
+            case "four": return 29;
+            case "five": return 30;
+            case "six": return 31;
+            case "seven": return 32;
+            case "eight": return 33;
+            case "nine": return 34;
+            case "null": return 35;
+            case "millionen": return 36;
+            case "Million": return 37;
+            case "Millionen": return 38;
+            case "tausend": return 39;
+            case "hundert": return 40;
+            case "und": return 41;
+            case "zwanzig": return 42;
+            case "drei\u00dfig": return 43;
+            case "dreissig": return 44;
+            case "vierzig": return 45;
+            case "f\u00fcnfzig": return 46;
+            case "sechzig": return 47;
+            case "siebzig": return 48;
+            case "achtzig": return 49;
+            case "neunzig": return 50;
+            case "zehn": return 51;
+            case "elf": return 52;
+            case "zw\u00f6lf": return 53;
+            case "dreizehn": return 54;
+            case "vierzehn": return 55;
+            case "f\u00fcnfzehn": return 56;
+            case "sechzehn": return 57;
+            case "siebzehn": return 58;
+            case "achtzehn": return 59;
+            case "neunzehn": return 60;
+            case "eins": return 61;
+            case "ein": return 62;
+            case "eine": return 63;
+            case "zwei": return 64;
+            case "drei": return 65;
+            case "vier": return 66;
+            case "f\u00fcnf": return 67;
+            case "sechs": return 68;
+            case "sieben": return 69;
+            case "acht": return 70;
+            case "neun": return 71;
+            case "z\u00e9ro": return 72;
+            case "moins": return 73;
+            case "millions": return 74;
+            case "mille": return 75;
+            case "cent": return 76;
+            case "cents": return 77;
+            case "et": return 78;
+            case "vingt": return 79;
+            case "trente": return 80;
+            case "quarante": return 81;
+            case "cinquante": return 82;
+            case "soixante": return 83;
+            case "septante": return 84;
+            case "quatre-vingt": return 85;
+            case "quatre-vingts": return 86;
+            case "huitante": return 87;
+            case "octante": return 88;
+            case "nonante": return 89;
+            case "dix": return 90;
+            case "onze": return 91;
+            case "douze": return 92;
+            case "treize": return 93;
+            case "quatorze": return 94;
+            case "quinze": return 95;
+            case "seize": return 96;
+            case "dix-sept": return 97;
+            case "dix-huit": return 98;
+            case "dix-neuf": return 99;
+            case "un": return 100;
+            case "une": return 101;
+            case "deux": return 102;
+            case "trois": return 103;
+            case "quatre": return 104;
+            case "cinq": return 105;
+            case "sept": return 106;
+            case "huit": return 107;
+            case "neuf": return 108;
+            case "cero": return 109;
+            case "menos": return 110;
+            case "mill\u00f3n": return 111;
+            case "millones": return 112;
+            case "mil": return 113;
+            case "cien": return 114;
+            case "ciento": return 115;
+            case "doscientos": return 116;
+            case "trescientos": return 117;
+            case "cuatrocientos": return 118;
+            case "quinientos": return 119;
+            case "seiscientos": return 120;
+            case "setecientos": return 121;
+            case "ochocientos": return 122;
+            case "novecientos": return 123;
+            case "y": return 124;
+            case "veinte": return 125;
+            case "veintiuno": return 126;
+            case "veinti\u00fan": return 127;
+            case "veintiuna": return 128;
+            case "veintid\u00f3s": return 129;
+            case "veintitr\u00e9s": return 130;
+            case "veinticuatro": return 131;
+            case "veinticinco": return 132;
+            case "veintis\u00e9is": return 133;
+            case "veintisiete": return 134;
+            case "veintiocho": return 135;
+            case "veintinueve": return 136;
+            case "treinta": return 137;
+            case "cuarenta": return 138;
+            case "cincuenta": return 139;
+            case "sesenta": return 140;
+            case "setenta": return 141;
+            case "ochenta": return 142;
+            case "noventa": return 143;
+            case "diez": return 144;
+            case "once": return 145;
+            case "doce": return 146;
+            case "trece": return 147;
+            case "catorce": return 148;
+            case "quince": return 149;
+            case "diecis\u00e9is": return 150;
+            case "diecisiete": return 151;
+            case "dieciocho": return 152;
+            case "diecinueve": return 153;
+            case "uno": return 154;
+            case "una": return 155;
+            case "dos": return 156;
+            case "tres": return 157;
+            case "cuatro": return 158;
+            case "cinco": return 159;
+            case "seis": return 160;
+            case "siete": return 161;
+            case "ocho": return 162;
+            case "nueve": return 163;
+            default: return -1;
+        }
+    }
+
+    /*
+     * The trie of all words, packed into strings
+     * of chars. Node 0 is the root. The edges
+     * out of node n are TRIE_CHARS and TRIE_TARGETS
+     * from TRIE_FIRST_EDGE[n] to TRIE_FIRST_EDGE[n + 1],
+     * sorted by char. TRIE_WORDS[n] is one more than
+     * the index of the word ending at n, or 0.
+     */
+    static final String TRIE_FIRST_EDGE =
+        "\000\021\024\026\027\027\034\035\036\037\040\040\043\045\046\047" +
+        "\047\051\052\053\054\055\056\056\057\063\064\065\067\074\077\100" +
+        "\101\102\103\104\104\105\107\110\112\113\114\114\116\117\117\121" +
+        "\123\124\125\125\126\127\131\131\134\136\137\140\140\142\143\145" +
+        "\145\150\152\153\155\155\163\164\165\166\170\170\173\175\176\177" +
+        "\201\201\202\203\204\206\206\207\207\211\212\213\214\214\215\216" +
+        "\216\217\220\220\221\222\223\224\225\225\226\227\227\230\231\231" +
+        "\232\233\233\234\235\235\236\237\237\241\244\244\244\245\246\246" +
+        "\247\247\251\252\252\253\253\254\255\256\257\260\261\262\263\263" +
+        "\264\265\266\267\270\270\271\272\272\273\277\277\302\303\304\305" +
+        "\306\306\312\313\314\317\320\321\321\322\323\324\324\326\330\331" +
+        "\332\334\335\335\336\337\340\342\343\343\344\346\350\351\351\353" +
+        "\355\357\360\360\361\362\363\365\366\366\370\371\373\374\374\375" +
+        "\375\375\376\377\377\u0100\u0101\u0102\u0102\u0103\u0104\u0104\u0105\u0106\u0106\u0107" +
+        "\u0108\u0108\u0109\u010a\u010a\u010b\u010c\u010c\u010d\u010e\u010e\u0110\u0110\u0110\u0111\u0111" +
+        "\u0111\u0112\u0112\u0113\u0114\u0114\u0115\u0116\u0117\u0117\u0117\u0117\u011b\u011d\u011e\u011f" +
+        "\u011f\u011f\u0120\u0121\u0121\u0123\u0127\u0128\u0129\u0129\u012a\u012c\u012e\u012f\u0130\u0131" +
+        "\u0132\u0132\u0134\u0136\u0137\u0138\u0139\u013a\u013b\u013b\u013c\u013d\u013e\u013f\u0140\u0141" +
+        "\u0141\u0142\u0143\u0144\u0145\u0146\u0146\u0148\u0149\u014a\u014b\u014c\u014d\u014e\u014f\u0150" +
+        "\u0150\u0151\u0152\u0153\u0154\u0155\u0155\u0157\u0158\u0159\u015a\u015b\u015b\u015d\u015e\u015f" +
+        "\u0160\u0161\u0161\u0163\u0164\u0165\u0165\u0168\u0169\u016a\u016a\u016c\u016d\u016d\u016e\u016f" +
+        "\u0170\u0170\u0171\u0174\u0175\u0175\u0177\u0178\u0178\u017b\u017c\u017d\u017e\u017e\u017f\u0180" +
+        "\u0181\u0181\u0182\u0183\u0184\u0184\u0184\u0185\u0186\u0186\u0187\u0188\u0188\u0188\u0189\u0189" +
+        "\u018a\u018b\u018c\u018c\u018d\u018d\u018e\u018f\u0190\u0190\u0191\u0192\u0193\u0193\u0194\u0195" +
+        "\u0196\u0197\u0198\u0199\u019a\u019a\u019b\u019c\u019d\u019e\u019f\u01a0\u01a1\u01a1\u01a2\u01a4" +
+        "\u01a5\u01a6\u01a7\u01a8\u01a9\u01aa\u01ab\u01ac\u01ad\u01ad\u01ae\u01af\u01b0\u01b1\u01b2\u01b2" +
+        "\u01b3\u01b4\u01b5\u01b6\u01b7\u01b8\u01b9\u01b9\u01ba\u01bc\u01bd\u01be\u01bf\u01c0\u01c1\u01c2" +
+        "\u01c2\u01c4\u01c5\u01c6\u01c7\u01c8\u01c9\u01ca\u01cb\u01cb\u01cc\u01ce\u01cf\u01d0\u01d1\u01d2" +
+        "\u01d3\u01d4\u01d4\u01d4\u01d5\u01d6\u01d7\u01d9\u01d9\u01e1\u01e2\u01e4\u01e4\u01e5\u01e5\u01e5" +
+        "\u01e6\u01e7\u01e7\u01e8\u01e9\u01ea\u01ea\u01ec\u01ed\u01ee\u01ef\u01f0\u01f0\u01f1\u01f2\u01f3" +
+        "\u01f3\u01f5\u01f6\u01f7\u01f7\u01f8\u01f9\u01fa\u01fa\u01fb\u01fc\u01fd\u01fd\u01fe\u01ff\u0200" +
+        "\u0201\u0201\u0202\u0203\u0203\u0204\u0205\u0206\u0207\u0207\u0209\u020a\u020b\u020c\u020d\u020d" +
+        "\u020e\u020f\u0210\u0211\u0211\u0212\u0213\u0213\u0214\u0215\u0216\u0216\u0217\u0218\u0218\u021a" +
+        "\u021a\u021b\u021b\u021c\u021c\u021d\u021d\u021e\u021f\u0220\u0221\u0222\u0222\u0223\u0223\u0224" +
+        "\u0227\u0229\u022a\u022b\u022b\u022c\u022d\u022e\u022e\u022f\u0230\u0231\u0231\u0232\u0233\u0234" +
+        "\u0235\u0235\u0235\u0235\u0235\u0236\u0236\u0237\u0238\u0238";
+    static final String TRIE_CHARS =
+        "\115\141\143\144\145\146\150\155\156\157\161\163\164\165\166\171" +
+        "\172\145\167\351\150\162\157\141\145\151\157\165\165\147\150\164" +
+        "\145\151\157\154\156\165\163\147\165\141\164\151\166\145\154\145" +
+        "\151\157\363\157\156\145\163\141\145\150\162\167\151\157\162\165" +
+        "\163\141\156\144\165\151\156\144\145\162\145\144\143\156\144\145" +
+        "\157\154\156\164\171\162\164\145\171\151\157\374\162\165\164\171" +
+        "\146\166\164\145\171\145\151\157\145\170\164\145\171\143\151\160" +
+        "\163\164\166\145\156\164\145\171\151\154\164\147\156\150\164\145" +
+        "\171\156\145\164\145\171\156\145\146\166\145\156\166\145\145\156" +
+        "\162\164\145\145\156\145\156\145\156\145\156\145\156\145\156\143" +
+        "\156\143\145\172\145\145\145\145\154\154\156\151\154\154\151\157" +
+        "\156\145\156\165\163\145\156\144\162\164\156\141\144\145\157\141" +
+        "\145\366\156\172\151\147\145\151\157\162\145\151\163\172\337\151" +
+        "\147\163\151\147\145\151\145\156\162\172\145\151\147\156\146\172" +
+        "\145\151\147\150\163\172\145\151\147\142\164\145\172\145\151\147" +
+        "\150\164\172\145\151\147\146\156\172\145\151\147\156\154\146\145" +
+        "\150\156\150\156\150\156\150\156\150\156\150\156\150\156\145\163" +
+        "\151\156\162\157\151\156\163\141\145\151\165\156\162\164\163\147" +
+        "\164\145\157\143\151\156\163\164\145\165\141\151\162\164\141\156" +
+        "\164\145\145\156\143\161\165\141\156\164\145\151\170\141\156\164" +
+        "\145\164\141\156\164\145\157\162\145\055\166\151\156\147\164\163" +
+        "\164\141\156\164\145\150\164\141\156\164\145\156\166\141\156\164" +
+        "\145\145\170\055\145\143\163\165\172\145\156\172\145\162\172\145" +
+        "\156\143\151\172\145\163\172\145\150\156\163\145\160\164\165\151" +
+        "\164\145\165\146\165\170\151\163\157\156\157\163\156\156\145\163" +
+        "\156\164\157\143\151\145\156\164\157\163\143\151\145\156\164\157" +
+        "\163\141\162\164\162\157\143\151\145\156\164\157\163\145\156\164" +
+        "\157\163\143\151\145\156\164\157\163\145\143\156\151\145\156\164" +
+        "\157\163\145\157\143\151\145\156\164\157\163\145\143\156\151\145" +
+        "\156\164\157\163\151\156\164\145\151\143\144\156\157\163\164\165" +
+        "\372\156\141\157\156\363\163\162\351\163\151\165\141\164\162\157" +
+        "\156\143\157\151\351\151\163\145\164\145\143\150\157\165\145\166" +
+        "\145\164\141\145\156\164\141\157\165\145\156\164\141\145\156\164" +
+        "\141\164\141\156\164\141\164\141\143\172\145\145\145\164\157\162" +
+        "\143\145\145\151\156\157\163\151\351\151\163\145\164\145\143\150" +
+        "\157\165\145\166\145\145\166\145";
+    static final String TRIE_TARGETS =
+        "\206\053\373\241\113\067\044\013\005\170\u0109\100\034\230\254\u01c2" +
+        "\001\002\233\362\316\003\004\006\020\121\u013c\201\007\010\011\012" +
+        "\u016f\014\365\027\015\016\017\021\311\022\023\024\025\026\030\372" +
+        "\031\u0175\u0173\032\033\204\371\217\126\035\u0104\056\063\036\174\037" +
+        "\040\041\042\043\045\u0130\046\047\225\050\051\052\303\054\055\057" +
+        "\173\135\060\061\062\064\065\140\066\074\070\263\071\143\072\073" +
+        "\075\177\076\151\077\105\101\u0119\276\102\103\154\104\271\u0155\u0120" +
+        "\u01ff\u01a7\106\107\110\111\157\112\114\130\u0100\115\352\116\117\162" +
+        "\120\122\123\124\165\125\127\131\320\132\133\134\136\137\141\142" +
+        "\144\145\146\147\150\152\153\155\156\160\161\163\164\166\167\u0136" +
+        "\171\u0210\172\u0144\175\176\200\u0236\202\203\205\207\210\211\212\213" +
+        "\214\215\216\220\221\222\223\224\226\227\231\u0232\232\u0165\u0231\234" +
+        "\355\321\235\236\237\240\u0166\u0142\u0146\242\243\244\250\324\245\246" +
+        "\247\251\252\253\u01c3\255\256\u0101\257\260\330\261\262\264\265\266" +
+        "\333\267\270\272\357\273\336\274\275\277\u0234\360\300\341\301\302" +
+        "\304\305\306\344\307\310\u016c\312\313\347\314\315\317\322\323\325" +
+        "\326\327\331\332\334\335\337\340\342\343\345\346\350\351\354\353" +
+        "\356\361\363\364\366\367\370\u0216\374\u0111\u018d\375\u016d\376\377\u0102" +
+        "\u0103\u0105\u0169\u0214\u014a\u0106\u0185\u0107\u0108\u010a\u010b\u0151\u010c\u0126\u010d\u010e" +
+        "\u010f\u0110\u0179\u0112\u01f9\u0113\u0114\u0115\u0116\u0117\u0118\u011a\u011b\u011c\u011d\u011e" +
+        "\u011f\u0121\u0122\u0123\u0124\u0125\u014d\u0127\u0128\u0129\u012a\u012b\u012c\u012d\u012e\u012f" +
+        "\u0131\u0132\u0133\u0134\u0135\u01b0\u0137\u0138\u0139\u013a\u013b\u013d\u01b9\u013e\u013f\u0140" +
+        "\u0141\u020e\u0143\u0158\u0145\u0212\u017d\u0147\u0148\u0149\u01f1\u014b\u014c\u014e\u014f\u0150" +
+        "\u0152\u021c\u0199\u0153\u0154\u019f\u0156\u0157\u015d\u0161\u0159\u015a\u015b\u015c\u015e\u015f" +
+        "\u0160\u0162\u0163\u0164\u0167\u0168\u016a\u016b\u016e\u0170\u0171\u0172\u0174\u0176\u0177\u0178" +
+        "\u017a\u017b\u017c\u017e\u017f\u0180\u0181\u0182\u0183\u0184\u0186\u0187\u0188\u0189\u018a\u018b" +
+        "\u018c\u018e\u01f4\u018f\u0190\u0191\u0192\u0193\u0194\u0195\u0196\u0197\u0198\u019a\u019b\u019c" +
+        "\u019d\u019e\u01a0\u01a1\u01a2\u01a3\u01a4\u01a5\u01a6\u01a8\u01a9\u0204\u01aa\u01ab\u01ac\u01ad" +
+        "\u01ae\u01af\u0207\u01b1\u01b2\u01b3\u01b4\u01b5\u01b6\u01b7\u01b8\u01ba\u01bb\u020b\u01bc\u01bd" +
+        "\u01be\u01bf\u01c0\u01c1\u01c4\u01c5\u01c6\u01c7\u01c8\u01d6\u01cf\u01ec\u01e8\u01e0\u01d2\u01c9" +
+        "\u01cc\u01ca\u01ce\u01cb\u01cd\u01d0\u01d1\u01d3\u01d4\u01d5\u01dc\u01d7\u01d8\u01d9\u01da\u01db" +
+        "\u01dd\u01de\u01df\u01e4\u01e1\u01e2\u01e3\u01e5\u01e6\u01e7\u01e9\u01ea\u01eb\u01ed\u01ee\u01ef" +
+        "\u01f0\u01f2\u01f3\u01f5\u01f6\u01f7\u01f8\u0233\u01fa\u01fb\u01fc\u01fd\u01fe\u0200\u0201\u0202" +
+        "\u0203\u0205\u0206\u0208\u0209\u020a\u020c\u020d\u021e\u020f\u0211\u0213\u0215\u0217\u0218\u0219" +
+        "\u021a\u021b\u021d\u021f\u022c\u0228\u0220\u0224\u0221\u0222\u0223\u0225\u0226\u0227\u0229\u022a" +
+        "\u022b\u022d\u022e\u022f\u0230\u0235\u0237\u0238";
+    static final String TRIE_WORDS =
+        "\000\000\000\000\001\000\000\000\000\000\002\000\000\000\000\003" +
+        "\000\000\000\000\000\000\004\162\000\000\000\005\000\000\000\000" +
+        "\000\000\000\006\000\000\000\000\000\000\007\000\000\010\000\000" +
+        "\000\000\011\000\000\000\012\000\000\000\000\013\000\000\000\014" +
+        "\000\000\040\000\015\000\000\000\041\000\016\000\000\000\000\042" +
+        "\017\000\000\043\000\020\000\021\000\000\000\000\022\000\000\023" +
+        "\000\000\024\000\036\000\000\000\025\000\000\026\000\000\027\000" +
+        "\000\030\000\000\031\000\000\032\000\000\033\034\000\000\035\000" +
+        "\037\000\000\044\000\045\000\000\000\000\000\000\046\000\047\000" +
+        "\000\000\000\000\050\000\000\051\000\145\052\000\000\000\000\000" +
+        "\053\000\000\000\102\000\000\054\000\000\000\055\000\000\000\103" +
+        "\000\000\056\000\000\104\000\000\057\000\000\000\000\060\000\000" +
+        "\000\000\061\000\000\107\000\000\062\000\110\000\000\063\000\064" +
+        "\065\000\000\066\000\000\000\067\000\000\070\000\000\071\000\000" +
+        "\072\000\000\073\000\000\074\000\000\075\077\076\100\000\101\105" +
+        "\000\106\000\000\111\000\000\000\112\113\114\000\000\000\115\116" +
+        "\117\000\000\120\000\000\000\000\121\000\000\000\000\000\000\000" +
+        "\122\000\000\152\000\000\000\000\123\000\000\000\000\000\000\124" +
+        "\000\153\000\000\000\125\000\000\151\000\000\000\000\000\126\127" +
+        "\000\154\000\000\000\130\000\000\000\000\000\131\000\000\000\000" +
+        "\000\132\000\133\000\134\000\000\000\135\000\000\136\000\000\000" +
+        "\137\000\000\000\140\000\000\141\000\000\000\000\142\000\000\000" +
+        "\143\000\000\000\144\146\000\000\147\000\000\150\155\000\156\000" +
+        "\000\000\157\000\160\000\000\000\161\000\163\000\164\235\000\000" +
+        "\000\000\000\000\165\236\000\000\000\000\000\000\166\000\000\000" +
+        "\000\237\000\000\000\000\000\000\167\000\000\000\000\000\170\241" +
+        "\000\000\000\000\000\000\171\000\000\000\000\000\000\000\000\172" +
+        "\000\243\000\000\000\000\000\000\173\000\000\000\000\000\000\000" +
+        "\000\174\175\000\000\000\000\176\000\000\000\177\000\200\201\000" +
+        "\000\202\000\000\000\203\000\000\000\000\000\204\000\000\000\205" +
+        "\000\000\000\206\000\000\000\207\000\000\000\210\000\000\000\000" +
+        "\211\000\000\212\000\000\000\000\213\000\000\000\000\000\214\000" +
+        "\000\000\000\215\000\000\216\000\000\000\217\000\000\220\000\221" +
+        "\000\222\000\223\000\224\000\000\000\000\000\225\000\226\000\000" +
+        "\000\000\000\227\000\000\000\230\000\000\000\231\000\000\000\000" +
+        "\232\233\234\240\000\242\000\000\244";
+
+    /** Grammar state before any tokens, for each language */
+    static final int[] START = {0, 22, 48, 68};
+
+    /** Names of the grammar states */
+    static final String[] STATE_NAMES = {
+        "en:START",
+        "en:NEGATIVE",
+        "en:ZERO",
+        "en:TRIPLET_AFTER_MILLION",
+        "en:TRIPLET_AFTER_THOUSAND",
+        "en:DIGIT",
+        "en:HUNDRED",
+        "en:NTY",
+        "en:DONE",
+        "en:HUNDRED_AND",
+        "en:DIGIT_AFTER_MILLION",
+        "en:HUNDRED_AFTER_MILLION",
+        "en:NTY_AFTER_MILLION",
+        "en:DONE_AFTER_MILLION",
+        "en:HUNDRED_AND_AFTER_MILLION",
+        "en:SCALE_AND_AFTER_MILLION",
+        "en:DIGIT_AFTER_THOUSAND",
+        "en:HUNDRED_AFTER_THOUSAND",
+        "en:NTY_AFTER_THOUSAND",
+        "en:DONE_AFTER_THOUSAND",
+        "en:HUNDRED_AND_AFTER_THOUSAND",
+        "en:SCALE_AND_AFTER_THOUSAND",
+        "de:START",
+        "de:NEGATIVE",
+        "de:ZERO",
+        "de:TRIPLET_AFTER_MILLION",
+        "de:TRIPLET_AFTER_THOUSAND",
+        "de:DIGIT",
+        "de:HUNDRED",
+        "de:NTY",
+        "de:DONE",
+        "de:UNITS",
+        "de:DIGIT_AND",
+        "de:HUNDRED_AND",
+        "de:DIGIT_AFTER_MILLION",
+        "de:HUNDRED_AFTER_MILLION",
+        "de:NTY_AFTER_MILLION",
+        "de:DONE_AFTER_MILLION",
+        "de:UNITS_AFTER_MILLION",
+        "de:DIGIT_AND_AFTER_MILLION",
+        "de:HUNDRED_AND_AFTER_MILLION",
+        "de:DIGIT_AFTER_THOUSAND",
+        "de:HUNDRED_AFTER_THOUSAND",
+        "de:NTY_AFTER_THOUSAND",
+        "de:DONE_AFTER_THOUSAND",
+        "de:UNITS_AFTER_THOUSAND",
+        "de:DIGIT_AND_AFTER_THOUSAND",
+        "de:HUNDRED_AND_AFTER_THOUSAND",
+        "fr:START",
+        "fr:NEGATIVE",
+        "fr:ZERO",
+        "fr:TRIPLET_AFTER_MILLION",
+        "fr:TRIPLET_AFTER_THOUSAND",
+        "fr:DIGIT",
+        "fr:HUNDRED",
+        "fr:NTY",
+        "fr:DONE",
+        "fr:NTY_AND",
+        "fr:DIGIT_AFTER_MILLION",
+        "fr:HUNDRED_AFTER_MILLION",
+        "fr:NTY_AFTER_MILLION",
+        "fr:DONE_AFTER_MILLION",
+        "fr:NTY_AND_AFTER_MILLION",
+        "fr:DIGIT_AFTER_THOUSAND",
+        "fr:HUNDRED_AFTER_THOUSAND",
+        "fr:NTY_AFTER_THOUSAND",
+        "fr:DONE_AFTER_THOUSAND",
+        "fr:NTY_AND_AFTER_THOUSAND",
+        "es:START",
+        "es:NEGATIVE",
+        "es:ZERO",
+        "es:TRIPLET_AFTER_MILLION",
+        "es:TRIPLET_AFTER_THOUSAND",
+        "es:DIGIT",
+        "es:HUNDRED",
+        "es:NTY",
+        "es:DONE",
+        "es:NTY_AND",
+        "es:DIGIT_AFTER_MILLION",
+        "es:HUNDRED_AFTER_MILLION",
+        "es:NTY_AFTER_MILLION",
+        "es:DONE_AFTER_MILLION",
+        "es:NTY_AND_AFTER_MILLION",
+        "es:DIGIT_AFTER_THOUSAND",
+        "es:HUNDRED_AFTER_THOUSAND",
+        "es:NTY_AFTER_THOUSAND",
+        "es:DONE_AFTER_THOUSAND",
+        "es:NTY_AND_AFTER_THOUSAND",
+    };
+
+    /**
+     * Next state, indexed by state * TYPE_NAMES.length
+     * plus token type ordinal; -1 if the token cannot
+     * come next.
+     */
+    static final short[] NEXT = {
+          2,   1,  -1,  -1,  -1,   7,   8,   5,  -1, // en:START
+         -1,  -1,  -1,  -1,  -1,   7,   8,   5,  -1, // en:NEGATIVE
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // en:ZERO
+         -1,  -1,  -1,  -1,  -1,  12,  13,  10,  15, // en:TRIPLET_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  18,  19,  16,  21, // en:TRIPLET_AFTER_THOUSAND
+         -1,  -1,   3,   4,   6,  -1,  -1,  -1,  -1, // en:DIGIT
+         -1,  -1,   3,   4,  -1,   7,   8,   8,   9, // en:HUNDRED
+         -1,  -1,   3,   4,  -1,  -1,  -1,   8,  -1, // en:NTY
+         -1,  -1,   3,   4,  -1,  -1,  -1,  -1,  -1, // en:DONE
+         -1,  -1,  -1,  -1,  -1,   7,   8,   8,  -1, // en:HUNDRED_AND
+         -1,  -1,  -1,   4,  11,  -1,  -1,  -1,  -1, // en:DIGIT_AFTER_MILLION
+         -1,  -1,  -1,   4,  -1,  12,  13,  13,  14, // en:HUNDRED_AFTER_MILLION
+         -1,  -1,  -1,   4,  -1,  -1,  -1,  13,  -1, // en:NTY_AFTER_MILLION
+         -1,  -1,  -1,   4,  -1,  -1,  -1,  -1,  -1, // en:DONE_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  12,  13,  13,  -1, // en:HUNDRED_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  18,  19,  19,  -1, // en:SCALE_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  17,  -1,  -1,  -1,  -1, // en:DIGIT_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  18,  19,  19,  20, // en:HUNDRED_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  19,  -1, // en:NTY_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // en:DONE_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  18,  19,  19,  -1, // en:HUNDRED_AND_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  18,  19,  19,  -1, // en:SCALE_AND_AFTER_THOUSAND
+         24,  23,  -1,  26,  28,  29,  30,  27,  -1, // de:START
+         -1,  -1,  -1,  26,  28,  29,  30,  27,  -1, // de:NEGATIVE
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // de:ZERO
+         -1,  -1,  -1,  26,  35,  36,  37,  34,  -1, // de:TRIPLET_AFTER_MILLION
+         -1,  -1,  -1,  -1,  42,  43,  44,  41,  -1, // de:TRIPLET_AFTER_THOUSAND
+         -1,  -1,  25,  26,  28,  -1,  -1,  -1,  32, // de:DIGIT
+         -1,  -1,  25,  26,  -1,  29,  30,  31,  33, // de:HUNDRED
+         -1,  -1,  25,  26,  -1,  -1,  -1,  30,  -1, // de:NTY
+         -1,  -1,  25,  26,  -1,  -1,  -1,  -1,  -1, // de:DONE
+         -1,  -1,  25,  26,  -1,  -1,  -1,  -1,  32, // de:UNITS
+         -1,  -1,  -1,  -1,  -1,  30,  -1,  -1,  -1, // de:DIGIT_AND
+         -1,  -1,  -1,  -1,  -1,  29,  30,  31,  -1, // de:HUNDRED_AND
+         -1,  -1,  -1,  26,  35,  -1,  -1,  -1,  39, // de:DIGIT_AFTER_MILLION
+         -1,  -1,  -1,  26,  -1,  36,  37,  38,  40, // de:HUNDRED_AFTER_MILLION
+         -1,  -1,  -1,  26,  -1,  -1,  -1,  37,  -1, // de:NTY_AFTER_MILLION
+         -1,  -1,  -1,  26,  -1,  -1,  -1,  -1,  -1, // de:DONE_AFTER_MILLION
+         -1,  -1,  -1,  26,  -1,  -1,  -1,  -1,  39, // de:UNITS_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  37,  -1,  -1,  -1, // de:DIGIT_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  36,  37,  38,  -1, // de:HUNDRED_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  42,  -1,  -1,  -1,  46, // de:DIGIT_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  43,  44,  45,  47, // de:HUNDRED_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  44,  -1, // de:NTY_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // de:DONE_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  46, // de:UNITS_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  44,  -1,  -1,  -1, // de:DIGIT_AND_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  43,  44,  45,  -1, // de:HUNDRED_AND_AFTER_THOUSAND
+         50,  49,  -1,  52,  54,  55,  56,  53,  -1, // fr:START
+         -1,  -1,  -1,  52,  54,  55,  56,  53,  -1, // fr:NEGATIVE
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // fr:ZERO
+         -1,  -1,  -1,  52,  59,  60,  61,  58,  -1, // fr:TRIPLET_AFTER_MILLION
+         -1,  -1,  -1,  -1,  64,  65,  66,  63,  -1, // fr:TRIPLET_AFTER_THOUSAND
+         -1,  -1,  51,  52,  54,  -1,  -1,  -1,  -1, // fr:DIGIT
+         -1,  -1,  51,  52,  -1,  55,  56,  56,  -1, // fr:HUNDRED
+         -1,  -1,  51,  52,  -1,  -1,  56,  56,  57, // fr:NTY
+         -1,  -1,  51,  52,  -1,  -1,  -1,  -1,  -1, // fr:DONE
+         -1,  -1,  -1,  -1,  -1,  -1,  56,  56,  -1, // fr:NTY_AND
+         -1,  -1,  -1,  52,  59,  -1,  -1,  -1,  -1, // fr:DIGIT_AFTER_MILLION
+         -1,  -1,  -1,  52,  -1,  60,  61,  61,  -1, // fr:HUNDRED_AFTER_MILLION
+         -1,  -1,  -1,  52,  -1,  -1,  61,  61,  62, // fr:NTY_AFTER_MILLION
+         -1,  -1,  -1,  52,  -1,  -1,  -1,  -1,  -1, // fr:DONE_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  -1,  61,  61,  -1, // fr:NTY_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  64,  -1,  -1,  -1,  -1, // fr:DIGIT_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  65,  66,  66,  -1, // fr:HUNDRED_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  66,  66,  67, // fr:NTY_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // fr:DONE_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  66,  66,  -1, // fr:NTY_AND_AFTER_THOUSAND
+         70,  69,  -1,  72,  74,  75,  76,  73,  -1, // es:START
+         -1,  -1,  -1,  72,  74,  75,  76,  73,  -1, // es:NEGATIVE
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // es:ZERO
+         -1,  -1,  -1,  72,  79,  80,  81,  78,  -1, // es:TRIPLET_AFTER_MILLION
+         -1,  -1,  -1,  -1,  84,  85,  86,  83,  -1, // es:TRIPLET_AFTER_THOUSAND
+         -1,  -1,  71,  72,  74,  -1,  -1,  -1,  -1, // es:DIGIT
+         -1,  -1,  71,  72,  -1,  75,  76,  76,  -1, // es:HUNDRED
+         -1,  -1,  71,  72,  -1,  -1,  -1,  76,  77, // es:NTY
+         -1,  -1,  71,  72,  -1,  -1,  -1,  -1,  -1, // es:DONE
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  76,  -1, // es:NTY_AND
+         -1,  -1,  -1,  72,  79,  -1,  -1,  -1,  -1, // es:DIGIT_AFTER_MILLION
+         -1,  -1,  -1,  72,  -1,  80,  81,  81,  -1, // es:HUNDRED_AFTER_MILLION
+         -1,  -1,  -1,  72,  -1,  -1,  -1,  81,  82, // es:NTY_AFTER_MILLION
+         -1,  -1,  -1,  72,  -1,  -1,  -1,  -1,  -1, // es:DONE_AFTER_MILLION
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  81,  -1, // es:NTY_AND_AFTER_MILLION
+         -1,  -1,  -1,  -1,  84,  -1,  -1,  -1,  -1, // es:DIGIT_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  85,  86,  86,  -1, // es:HUNDRED_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  86,  87, // es:NTY_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1,  -1, // es:DONE_AFTER_THOUSAND
+         -1,  -1,  -1,  -1,  -1,  -1,  -1,  86,  -1, // es:NTY_AND_AFTER_THOUSAND
+    };
+
+    /** May the input end in each state? */
+    static final boolean[] ACCEPTING = {
+        false, // en:START
+        false, // en:NEGATIVE
+        true, // en:ZERO
+        true, // en:TRIPLET_AFTER_MILLION
+        true, // en:TRIPLET_AFTER_THOUSAND
+        true, // en:DIGIT
+        true, // en:HUNDRED
+        true, // en:NTY
+        true, // en:DONE
+        false, // en:HUNDRED_AND
+        true, // en:DIGIT_AFTER_MILLION
+        true, // en:HUNDRED_AFTER_MILLION
+        true, // en:NTY_AFTER_MILLION
+        true, // en:DONE_AFTER_MILLION
+        false, // en:HUNDRED_AND_AFTER_MILLION
+        false, // en:SCALE_AND_AFTER_MILLION
+        true, // en:DIGIT_AFTER_THOUSAND
+        true, // en:HUNDRED_AFTER_THOUSAND
+        true, // en:NTY_AFTER_THOUSAND
+        true, // en:DONE_AFTER_THOUSAND
+        false, // en:HUNDRED_AND_AFTER_THOUSAND
+        false, // en:SCALE_AND_AFTER_THOUSAND
+        false, // de:START
+        false, // de:NEGATIVE
+        true, // de:ZERO
+        true, // de:TRIPLET_AFTER_MILLION
+        true, // de:TRIPLET_AFTER_THOUSAND
+        true, // de:DIGIT
+        true, // de:HUNDRED
+        true, // de:NTY
+        true, // de:DONE
+        true, // de:UNITS
+        false, // de:DIGIT_AND
+        false, // de:HUNDRED_AND
+        true, // de:DIGIT_AFTER_MILLION
+        true, // de:HUNDRED_AFTER_MILLION
+        true, // de:NTY_AFTER_MILLION
+        true, // de:DONE_AFTER_MILLION
+        true, // de:UNITS_AFTER_MILLION
+        false, // de:DIGIT_AND_AFTER_MILLION
+        false, // de:HUNDRED_AND_AFTER_MILLION
+        true, // de:DIGIT_AFTER_THOUSAND
+        true, // de:HUNDRED_AFTER_THOUSAND
+        true, // de:NTY_AFTER_THOUSAND
+        true, // de:DONE_AFTER_THOUSAND
+        true, // de:UNITS_AFTER_THOUSAND
+        false, // de:DIGIT_AND_AFTER_THOUSAND
+        false, // de:HUNDRED_AND_AFTER_THOUSAND
+        false, // fr:START
+        false, // fr:NEGATIVE
+        true, // fr:ZERO
+        true, // fr:TRIPLET_AFTER_MILLION
+        true, // fr:TRIPLET_AFTER_THOUSAND
+        true, // fr:DIGIT
+        true, // fr:HUNDRED
+        true, // fr:NTY
+        true, // fr:DONE
+        false, // fr:NTY_AND
+        true, // fr:DIGIT_AFTER_MILLION
+        true, // fr:HUNDRED_AFTER_MILLION
+        true, // fr:NTY_AFTER_MILLION
+        true, // fr:DONE_AFTER_MILLION
+        false, // fr:NTY_AND_AFTER_MILLION
+        true, // fr:DIGIT_AFTER_THOUSAND
+        true, // fr:HUNDRED_AFTER_THOUSAND
+        true, // fr:NTY_AFTER_THOUSAND
+        true, // fr:DONE_AFTER_THOUSAND
+        false, // fr:NTY_AND_AFTER_THOUSAND
+        false, // es:START
+        false, // es:NEGATIVE
+        true, // es:ZERO
+        true, // es:TRIPLET_AFTER_MILLION
+        true, // es:TRIPLET_AFTER_THOUSAND
+        true, // es:DIGIT
+        true, // es:HUNDRED
+        true, // es:NTY
+        true, // es:DONE
+        false, // es:NTY_AND
+        true, // es:DIGIT_AFTER_MILLION
+        true, // es:HUNDRED_AFTER_MILLION
+        true, // es:NTY_AFTER_MILLION
+        true, // es:DONE_AFTER_MILLION
+        false, // es:NTY_AND_AFTER_MILLION
+        true, // es:DIGIT_AFTER_THOUSAND
+        true, // es:HUNDRED_AFTER_THOUSAND
+        true, // es:NTY_AFTER_THOUSAND
+        true, // es:DONE_AFTER_THOUSAND
+        false, // es:NTY_AND_AFTER_THOUSAND
+    };
+
+    /** Index into ERROR_FORMATS for a bad token in each state */
+    static final byte[] ERROR_KIND = {
+        0, // en:START
+        0, // en:NEGATIVE
+        1, // en:ZERO
+        0, // en:TRIPLET_AFTER_MILLION
+        0, // en:TRIPLET_AFTER_THOUSAND
+        2, // en:DIGIT
+        2, // en:HUNDRED
+        2, // en:NTY
+        2, // en:DONE
+        0, // en:HUNDRED_AND
+        3, // en:DIGIT_AFTER_MILLION
+        3, // en:HUNDRED_AFTER_MILLION
+        3, // en:NTY_AFTER_MILLION
+        3, // en:DONE_AFTER_MILLION
+        0, // en:HUNDRED_AND_AFTER_MILLION
+        0, // en:SCALE_AND_AFTER_MILLION
+        4, // en:DIGIT_AFTER_THOUSAND
+        4, // en:HUNDRED_AFTER_THOUSAND
+        4, // en:NTY_AFTER_THOUSAND
+        4, // en:DONE_AFTER_THOUSAND
+        0, // en:HUNDRED_AND_AFTER_THOUSAND
+        0, // en:SCALE_AND_AFTER_THOUSAND
+        0, // de:START
+        0, // de:NEGATIVE
+        1, // de:ZERO
+        0, // de:TRIPLET_AFTER_MILLION
+        0, // de:TRIPLET_AFTER_THOUSAND
+        2, // de:DIGIT
+        2, // de:HUNDRED
+        2, // de:NTY
+        2, // de:DONE
+        2, // de:UNITS
+        0, // de:DIGIT_AND
+        0, // de:HUNDRED_AND
+        3, // de:DIGIT_AFTER_MILLION
+        3, // de:HUNDRED_AFTER_MILLION
+        3, // de:NTY_AFTER_MILLION
+        3, // de:DONE_AFTER_MILLION
+        3, // de:UNITS_AFTER_MILLION
+        0, // de:DIGIT_AND_AFTER_MILLION
+        0, // de:HUNDRED_AND_AFTER_MILLION
+        4, // de:DIGIT_AFTER_THOUSAND
+        4, // de:HUNDRED_AFTER_THOUSAND
+        4, // de:NTY_AFTER_THOUSAND
+        4, // de:DONE_AFTER_THOUSAND
+        4, // de:UNITS_AFTER_THOUSAND
+        0, // de:DIGIT_AND_AFTER_THOUSAND
+        0, // de:HUNDRED_AND_AFTER_THOUSAND
+        0, // fr:START
+        0, // fr:NEGATIVE
+        1, // fr:ZERO
+        0, // fr:TRIPLET_AFTER_MILLION
+        0, // fr:TRIPLET_AFTER_THOUSAND
+        2, // fr:DIGIT
+        2, // fr:HUNDRED
+        2, // fr:NTY
+        2, // fr:DONE
+        0, // fr:NTY_AND
+        3, // fr:DIGIT_AFTER_MILLION
+        3, // fr:HUNDRED_AFTER_MILLION
+        3, // fr:NTY_AFTER_MILLION
+        3, // fr:DONE_AFTER_MILLION
+        0, // fr:NTY_AND_AFTER_MILLION
+        4, // fr:DIGIT_AFTER_THOUSAND
+        4, // fr:HUNDRED_AFTER_THOUSAND
+        4, // fr:NTY_AFTER_THOUSAND
+        4, // fr:DONE_AFTER_THOUSAND
+        0, // fr:NTY_AND_AFTER_THOUSAND
+        0, // es:START
+        0, // es:NEGATIVE
+        1, // es:ZERO
+        0, // es:TRIPLET_AFTER_MILLION
+        0, // es:TRIPLET_AFTER_THOUSAND
+        2, // es:DIGIT
+        2, // es:HUNDRED
+        2, // es:NTY
+        2, // es:DONE
+        0, // es:NTY_AND
+        3, // es:DIGIT_AFTER_MILLION
+        3, // es:HUNDRED_AFTER_MILLION
+        3, // es:NTY_AFTER_MILLION
+        3, // es:DONE_AFTER_MILLION
+        0, // es:NTY_AND_AFTER_MILLION
+        4, // es:DIGIT_AFTER_THOUSAND
+        4, // es:HUNDRED_AFTER_THOUSAND
+        4, // es:NTY_AFTER_THOUSAND
+        4, // es:DONE_AFTER_THOUSAND
+        0, // es:NTY_AND_AFTER_THOUSAND
+    };
+
+    /** Error messages; formatted with the previous token and the bad one */
+    static final String[] ERROR_FORMATS = {
+        "Unexpected token: \"%2$s\"",
+        "After \"%1$s\", additional token detected: \"%2$s\"",
+        "Expected million, thousand, or end-of-file; got \"%2$s\"",
+        "Expected thousand or end-of-file; got \"%2$s\"",
+        "Expected end of file; got \"%2$s\"",
+    };
+}
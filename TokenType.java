@@ -7,7 +7,6 @@ package englishNumbers;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * Types of tokens an English Number
@@ -16,113 +15,73 @@ import java.util.Map.Entry;
  */
 enum TokenType {
     /** "zero" or "naught" */
-    ZERO("zero|naught"),
+    ZERO(false),
     /** "minus" or "negative" */
-    MINUS("minus|negative"),
-    MILLION("million"),
-    THOUSAND("thousand"),
-    HUNDRED("hundred"),
+    MINUS(false),
+    MILLION(false),
+    THOUSAND(false),
+    HUNDRED(false),
     /**
      * "twenty", "thirty", etc. 
      * Token's value should represent tens digit
      */
-    NTY("twenty|thirty|forty|fifty|sixty|seventy|eighty|ninety"){
-        private Map<String, Integer> values = new HashMap<String, Integer>(8);
-        {
-            values.put("twenty", 2);
-            values.put("thirty", 3);
-            values.put("forty", 4);
-            values.put("fifty", 5);
-            values.put("sixty", 6);
-            values.put("seventy", 7);
-            values.put("eighty", 8);
-            values.put("ninety", 9);
-        }
-        
-        @Override
-        protected Map<String, Integer> getValues() {
-            return values;
-        }
-    },
+    NTY(true),
     /**
      * "ten", "eleven", "twelve", etc.
      * Token's value should represent ones digit
      */
-    TEEN("ten|eleven|twelve|thirteen|fourteen|fifteen|sixteen|seventeen|eighteen|nineteen"){
-        private Map<String, Integer> values = new HashMap<String, Integer>(9);
-        {
-        	values.put("ten", 0);
-            values.put("eleven", 1);
-            values.put("twelve", 2);
-            values.put("thirteen", 3);
-            values.put("fourteen", 4);
-            values.put("fifteen", 5);
-            values.put("sixteen", 6);
-            values.put("seventeen", 7);
-            values.put("eighteen", 8);
-            values.put("nineteen", 9);
-        }
-        
-        @Override
-        protected Map<String, Integer> getValues() {
-            return values;
-        }
-    },
+    TEEN(true),
     /**
      * "one", "two", etc.
      * Token's value should represent ones digit
      */
-    DIGIT("one|two|three|four|five|six|seven|eight|nine"){
-        private Map<String, Integer> values = new HashMap<String, Integer>(9);
-        {
-            values.put("one", 1);
-            values.put("two", 2);
-            values.put("three", 3);
-            values.put("four", 4);
-            values.put("five", 5);
-            values.put("six", 6);
-            values.put("seven", 7);
-            values.put("eight", 8);
-            values.put("nine", 9);
-        }
-        
-        @Override
-        protected Map<String, Integer> getValues() {
-            return values;
-        }
-    };
+    DIGIT(true),
+    /**
+     * "und", "et", "y": joins units and tens
+     * in some languages
+     */
+    AND(false);
     
-    /** The pattern that matches this token */
-    private String pattern;
+    /*
+     * The words of each type, and their values,
+     * are in TokenTables, generated at build time
+     * from the vocabulary-*.txt files.
+     */
     
-    /** Sets the pattern */
-    private TokenType(String pattern){
-        this.pattern = pattern;
-    }
+    /** Do this type's words have values? */
+    private final boolean valued;
     
-    /** Gets the pattern that matches this token */
-    String getPattern(){
-        return pattern;
+    private TokenType(boolean valued){
+        this.valued = valued;
     }
     
     /** Gets the value for this token based on its original String */
     int getValue(String s){
-        Map<String, Integer> values = getValues();
-        for (Entry<String, Integer> e : values.entrySet()){
-            if (s.equals(e.getKey().toString())){
-                return e.getValue();
-            }
+        int word = TokenTables.indexOf(s);
+        if (!valued || word < 0 || !isWordOf(word)){
+            return NumberToken.NO_VAL;
         }
-        
-        return NumberToken.NO_VAL;
+        return TokenTables.TOKEN_VALUES[TokenTables.WORD_TOKENS[word]];
     }
     
     /**
      * Mapping of strings to what token values 
-     * Default implementation is an empty map
+     * Empty for types whose words have no value
      */
     protected Map<String, Integer> getValues(){
-        return new HashMap<String, Integer>();
+        Map<String, Integer> values = new HashMap<String, Integer>();
+        for (int word = 0; valued && word < TokenTables.WORDS.length; word++){
+            if (isWordOf(word)){
+                values.put(TokenTables.WORDS[word], TokenTables.TOKEN_VALUES[TokenTables.WORD_TOKENS[word]]);
+            }
+        }
+        return values;
+    }
+    
+    /** Is the word a single token of this type? */
+    private boolean isWordOf(int word){
+        int first = TokenTables.WORD_TOKENS[word];
+        return TokenTables.WORD_TOKENS[word + 1] == first + 1 && TokenTables.TOKEN_TYPES[first] == this;
     }
     
     /** Test view */
@@ -0,0 +1,281 @@
+package englishNumbers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A memory-mapped index of the values of a parsed
+ * input, for looking values up without parsing
+ * it again. Written by {@link ValueIndexWriter}
+ * (EntryPoint --index).
+ * <p>
+ * Lines are numbered from 1. The file is, in
+ * little-endian order:
+ * <ul>
+ * <li>a header (see {@link #HEADER_SIZE})
+ * <li>an int32 per line: its value, or {@link #NO_VALUE}
+ *     if it could not be parsed
+ * <li>an int32 minimum and maximum for each block of
+ *     {@link #BLOCK_LINES} lines, in line order
+ *     (minimum &gt; maximum if the block has no values)
+ * <li>the lines with values, sorted by value and then
+ *     by line: an int32 value for each, then an int64
+ *     line number for each
+ * <li>an int32 minimum and maximum for each block of
+ *     {@link #BLOCK_LINES} sorted values
+ * </ul>
+ * Range queries binary search the sorted values, so
+ * they take time in proportion to the log of the
+ * number of lines, and then to the lines found.
+ * {@link #nextLineBetween(int, int, long)} goes
+ * through the lines in order instead, only looking
+ * at blocks whose minimum and maximum overlap the
+ * range; that is quick only if the values are
+ * more or less in order.
+ *
+ */
+class ValueIndex {
+    /** "ENIDX" then the version */
+    static final long MAGIC = 0x0000315844494e45L;
+    static final int VERSION = 2;
+    /**
+     * magic, version, block size, line count, block count,
+     * block index offset, sorted count, sorted offset
+     */
+    static final int HEADER_SIZE = 8 + 4 + 4 + 8 + 8 + 8 + 8 + 8;
+    /** Lines per block of the block index */
+    static final int BLOCK_LINES = 4096;
+    /** Value of a line that could not be parsed */
+    static final int NO_VALUE = Integer.MIN_VALUE;
+
+    /** Most ints mapped at once; a mapping is limited to 2 GB */
+    private static final int CHUNK_INTS = 1 << 28;
+    /** Most longs mapped at once */
+    private static final int CHUNK_LONGS = 1 << 27;
+
+    private final long lineCount;
+    private final int blockCount;
+    /** The values, CHUNK_INTS lines per buffer */
+    private final IntBuffer[] column;
+    /** Minimum and maximum of each block, interleaved */
+    private final IntBuffer blocks;
+    /** Lines with values */
+    private final long sortedCount;
+    /** Their values, in order, CHUNK_INTS per buffer */
+    private final IntBuffer[] sortedValues;
+    /** Their line numbers, CHUNK_LONGS per buffer */
+    private final LongBuffer[] sortedLines;
+    /** Minimum and maximum of each block of sorted values, interleaved */
+    private final IntBuffer sortedBlocks;
+
+    /**
+     * Maps an index file.
+     *
+     * @param file the index file
+     * @throws IOException if it cannot be read, or is not an index
+     */
+    ValueIndex(File file) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            if (channel.size() < HEADER_SIZE){
+                throw new IOException("Not a value index: " + file);
+            }
+            MappedByteBuffer header = map(channel, 0, HEADER_SIZE);
+            if (header.getLong() != MAGIC || header.getInt() != VERSION || header.getInt() != BLOCK_LINES){
+                throw new IOException("Not a version " + VERSION + " value index: " + file);
+            }
+            lineCount = header.getLong();
+            blockCount = (int) header.getLong();
+            long blockIndexOffset = header.getLong();
+            sortedCount = header.getLong();
+            long sortedOffset = header.getLong();
+            long sortedBlockCount = (sortedCount + BLOCK_LINES - 1) / BLOCK_LINES;
+            if (channel.size() < sortedOffset + sortedCount * (4 + 8) + sortedBlockCount * 8){
+                throw new IOException("Value index is truncated: " + file);
+            }
+
+            column = mapInts(channel, HEADER_SIZE, lineCount);
+            blocks = map(channel, blockIndexOffset, blockCount * 8L).asIntBuffer();
+            sortedValues = mapInts(channel, sortedOffset, sortedCount);
+            long linesOffset = sortedOffset + sortedCount * 4;
+            sortedLines = new LongBuffer[(int) ((sortedCount + CHUNK_LONGS - 1) / CHUNK_LONGS)];
+            for (int i = 0; i < sortedLines.length; i++){
+                long first = (long) i * CHUNK_LONGS;
+                long longs = Math.min(CHUNK_LONGS, sortedCount - first);
+                sortedLines[i] = map(channel, linesOffset + first * 8, longs * 8).asLongBuffer();
+            }
+            sortedBlocks = map(channel, linesOffset + sortedCount * 8, sortedBlockCount * 8).asIntBuffer();
+        } finally {
+            // Mappings stay valid once the file is closed
+            raf.close();
+        }
+    }
+
+    /** Number of lines indexed */
+    long getLineCount(){
+        return lineCount;
+    }
+
+    /**
+     * Gets the value of a line.
+     *
+     * @param line a line number, from 1
+     * @return the value, or {@link #NO_VALUE} if the line
+     *         could not be parsed
+     */
+    int valueAt(long line){
+        if (line < 1 || line > lineCount){
+            throw new IndexOutOfBoundsException("No line " + line + " in an index of " + lineCount);
+        }
+        return get(column, line - 1);
+    }
+
+    /**
+     * Finds the lines whose values are between min
+     * and max, inclusive, from the sorted values.
+     *
+     * @param min the smallest value wanted
+     * @param max the largest value wanted
+     * @return their line numbers, in order
+     */
+    long[] linesBetween(int min, int max){
+        long first = firstSortedAtLeast(min);
+        long count = countBetween(min, max);
+        if (count > Integer.MAX_VALUE - 8){
+            throw new IllegalArgumentException("Too many lines between " + min + " and " + max + ": " + count);
+        }
+        long[] lines = new long[(int) count];
+        for (int i = 0; i < lines.length; i++){
+            long s = first + i;
+            lines[i] = sortedLines[(int) (s / CHUNK_LONGS)].get((int) (s % CHUNK_LONGS));
+        }
+        Arrays.sort(lines);
+        return lines;
+    }
+
+    /**
+     * Counts the lines whose values are between
+     * min and max, inclusive.
+     */
+    long countBetween(int min, int max){
+        if (min > max){
+            return 0;
+        }
+        long end = (max == Integer.MAX_VALUE) ? sortedCount : firstSortedAtLeast(max + 1);
+        return end - firstSortedAtLeast(min);
+    }
+
+    /**
+     * Finds the first of the sorted values that is
+     * at least a value: the block it is in by the
+     * blocks' maximums, then its place in the block.
+     *
+     * @return its index, or sortedCount if there is none
+     */
+    private long firstSortedAtLeast(int value){
+        int low = 0;
+        int high = sortedBlocks.limit() / 2;
+        while (low < high){
+            int middle = (low + high) >>> 1;
+            if (sortedBlocks.get(2 * middle + 1) < value){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        long first = Math.min((long) low * BLOCK_LINES, sortedCount);
+        long last = Math.min(first + BLOCK_LINES, sortedCount);
+        while (first < last){
+            long middle = (first + last) >>> 1;
+            if (get(sortedValues, middle) < value){
+                first = middle + 1;
+            } else {
+                last = middle;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Finds the first line at or after the given
+     * one whose value is between min and max,
+     * inclusive, going through the lines in order.
+     *
+     * @param min the smallest value wanted
+     * @param max the largest value wanted
+     * @param from the line number to start at, from 1
+     * @return the line number, or -1 if there is none
+     */
+    long nextLineBetween(int min, int max, long from){
+        long i = Math.max(from, 1) - 1;
+        while (i < lineCount){
+            int block = (int) (i / BLOCK_LINES);
+            long blockEnd = Math.min((long) (block + 1) * BLOCK_LINES, lineCount);
+            if (blocks.get(2 * block) > max || blocks.get(2 * block + 1) < min){
+                // Nothing in this block
+                i = blockEnd;
+                continue;
+            }
+
+            for (; i < blockEnd; i++){
+                int value = get(column, i);
+                if (value != NO_VALUE && value >= min && value <= max){
+                    return i + 1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Gets the i'th int of a mapping split into buffers of CHUNK_INTS */
+    private static int get(IntBuffer[] chunks, long i){
+        return chunks[(int) (i / CHUNK_INTS)].get((int) (i % CHUNK_INTS));
+    }
+
+    /** Maps a run of ints, CHUNK_INTS to a buffer */
+    private static IntBuffer[] mapInts(FileChannel channel, long position, long count) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[(int) ((count + CHUNK_INTS - 1) / CHUNK_INTS)];
+        for (int i = 0; i < chunks.length; i++){
+            long first = (long) i * CHUNK_INTS;
+            long ints = Math.min(CHUNK_INTS, count - first);
+            chunks[i] = map(channel, position + first * 4, ints * 4).asIntBuffer();
+        }
+        return chunks;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Queries an index from the command line:
+     * <pre>
+     *   ValueIndex FILE line N        value of line N
+     *   ValueIndex FILE range MIN MAX lines with values in [MIN, MAX]
+     * </pre>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[1].equals("line")){
+            int value = new ValueIndex(new File(args[0])).valueAt(Long.parseLong(args[2]));
+            System.out.println((value == NO_VALUE) ? "none" : Integer.toString(value));
+        } else if (args.length == 4 && args[1].equals("range")){
+            ValueIndex index = new ValueIndex(new File(args[0]));
+            for (long line : index.linesBetween(Integer.parseInt(args[2]), Integer.parseInt(args[3]))){
+                System.out.println(line);
+            }
+        } else {
+            System.err.println("Usage: ValueIndex FILE line N | ValueIndex FILE range MIN MAX");
+            System.exit(2);
+        }
+    }
+}
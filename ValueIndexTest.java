@@ -0,0 +1,172 @@
+package englishNumbers;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ValueIndexTest {
+
+	File file;
+	int[] values;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("ValueIndexTest", ".idx");
+		file.deleteOnExit();
+
+		// Several blocks, some lines unparsed, some large values, in no order
+		Random random = new Random(293);
+		values = new int[3 * ValueIndex.BLOCK_LINES + 17];
+		for (int i = 0; i < values.length; i++){
+			if (i % 7 == 3){
+				values[i] = ValueIndex.NO_VALUE;
+			} else if (i / ValueIndex.BLOCK_LINES == 1){
+				values[i] = 500000000 + random.nextInt(1000);
+			} else {
+				values[i] = random.nextInt(2000000) - 1000000;
+			}
+		}
+		for (int i = values.length - 1; i > 0; i--){
+			int j = random.nextInt(i + 1);
+			int swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+		write(file, ValueIndexWriter.RUN_LINES);
+	}
+
+	private void write(File to, int runLines) throws Exception {
+		ValueIndexWriter writer = new ValueIndexWriter(to, runLines);
+		for (int v : values){
+			writer.add(v);
+		}
+		writer.close();
+	}
+
+	@Test
+	public void testValueAt() throws Exception {
+		ValueIndex index = new ValueIndex(file);
+		assertEquals(values.length, index.getLineCount());
+		for (int i = 0; i < values.length; i++){
+			assertEquals("Wrong value at line " + (i + 1), values[i], index.valueAt(i + 1));
+		}
+	}
+
+	static final int[][] RANGES = {
+			{1000, 50000}, {-5, 5}, {500000000, 500000500}, {999999, 999999999}, {7, 6},
+			{Integer.MIN_VALUE + 1, Integer.MAX_VALUE}, {Integer.MAX_VALUE, Integer.MAX_VALUE},
+	};
+
+	/** The lines of values in a range, the slow way */
+	private long[] expectedLines(int[] range){
+		long[] lines = new long[values.length];
+		int count = 0;
+		for (int i = 0; i < values.length; i++){
+			if (values[i] != ValueIndex.NO_VALUE && values[i] >= range[0] && values[i] <= range[1]){
+				lines[count++] = i + 1;
+			}
+		}
+		return Arrays.copyOf(lines, count);
+	}
+
+	@Test
+	public void testRanges() throws Exception {
+		ValueIndex index = new ValueIndex(file);
+		for (int[] range : RANGES){
+			long[] expected = expectedLines(range);
+			String name = "[" + range[0] + ", " + range[1] + "]";
+			assertArrayEquals("Wrong lines in " + name, expected, index.linesBetween(range[0], range[1]));
+			assertEquals(expected.length, index.countBetween(range[0], range[1]));
+		}
+	}
+
+	@Test
+	public void testRangesInLineOrder() throws Exception {
+		ValueIndex index = new ValueIndex(file);
+		for (int[] range : RANGES){
+			long line = 0;
+			for (long expected : expectedLines(range)){
+				line = index.nextLineBetween(range[0], range[1], line + 1);
+				assertEquals("Wrong next line in [" + range[0] + ", " + range[1] + "]", expected, line);
+			}
+			assertEquals(-1, index.nextLineBetween(range[0], range[1], line + 1));
+		}
+	}
+
+	@Test
+	public void testMergedRuns() throws Exception {
+		// The same index, from runs sorted apart
+		final File merged = File.createTempFile("ValueIndexTest", ".idx");
+		merged.deleteOnExit();
+		write(merged, 1000);
+		ValueIndex index = new ValueIndex(merged);
+		for (int[] range : RANGES){
+			assertArrayEquals(expectedLines(range), index.linesBetween(range[0], range[1]));
+		}
+		assertArrayEquals("Runs are merged into the index",
+				readAll(file), readAll(merged));
+		assertEquals("The runs' file is deleted", 1, merged.getParentFile().listFiles(new java.io.FilenameFilter(){
+			@Override
+			public boolean accept(File dir, String name){
+				return name.startsWith(merged.getName());
+			}
+		}).length);
+	}
+
+	private static byte[] readAll(File from) throws Exception {
+		return java.nio.file.Files.readAllBytes(from.toPath());
+	}
+
+	@Test
+	public void testFromEntryPoint() throws Exception {
+		File input = File.createTempFile("ValueIndexTest", ".txt");
+		input.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(input);
+		out.write("one\nbogus\nminus five\ntwo thousand five\n".getBytes("US-ASCII"));
+		out.close();
+
+		Options options = Options.parse(new String[]{"--index", file.getPath(), input.getPath()});
+		EntryPoint.run(options, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+
+		ValueIndex index = new ValueIndex(file);
+		assertEquals(4, index.getLineCount());
+		assertEquals(1, index.valueAt(1));
+		assertEquals(ValueIndex.NO_VALUE, index.valueAt(2));
+		assertEquals(-5, index.valueAt(3));
+		assertEquals(2005, index.valueAt(4));
+		assertEquals(4, index.nextLineBetween(1000, 50000, 1));
+		assertArrayEquals(new long[]{1, 4}, index.linesBetween(1, 5000));
+	}
+
+	@Test
+	public void testNoIndexOfTruncatedInput() throws Exception {
+		File input = File.createTempFile("ValueIndexTest", ".txt.gz");
+		input.deleteOnExit();
+		ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+		GZIPOutputStream gz = new GZIPOutputStream(gzipped);
+		for (int i = 0; i < 10000; i++){
+			gz.write("one\nminus five\n".getBytes("US-ASCII"));
+		}
+		gz.close();
+		FileOutputStream out = new FileOutputStream(input);
+		out.write(gzipped.toByteArray(), 0, gzipped.size() / 2);
+		out.close();
+
+		ErrorManager em = ErrorManager.getInstance();
+		int errorsBefore = em.getErrorCount();
+		Options options = Options.parse(new String[]{"--index", file.getPath(), input.getPath()});
+		EntryPoint.run(options, new PrintStream(new ByteArrayOutputStream()), new PrintStream(new ByteArrayOutputStream()));
+		assertTrue("Truncated input is an error", em.getErrorCount() > errorsBefore);
+		assertFalse("No index of part of the input", file.exists());
+	}
+
+}
@@ -0,0 +1,402 @@
+package englishNumbers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Writes a {@link ValueIndex} file as lines are
+ * parsed: one value per line, in line order,
+ * then the minimum and maximum of each block,
+ * then the lines with values sorted by value.
+ * <p>
+ * Values are sorted in runs of a fixed number of
+ * lines as they come; runs are written to a
+ * temporary file beside the index, and merged
+ * into it when it is closed. So only one run is
+ * ever held in memory, however long the input.
+ *
+ */
+class ValueIndexWriter {
+    /** Lines per sorted run, unless told otherwise */
+    static final int RUN_LINES = 1 << 20;
+    /** Bytes of a run's entry: its value, then its line */
+    private static final int RUN_ENTRY = 4 + 8;
+
+    /** The index file */
+    private final File file;
+    /** Where the file is written */
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+    /** Values waiting to be written */
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    /** Lines recorded so far */
+    private long lineCount = 0;
+    /** Lines with values recorded so far */
+    private long sortedCount = 0;
+    /** Minimum value of each block so far */
+    private int[] blockMin = new int[64];
+    /** Maximum value of each block so far */
+    private int[] blockMax = new int[64];
+
+    /** Lines per sorted run */
+    private final int runLines;
+    /**
+     * The run being recorded: each line with a value, as
+     * the value in the high half and the line's number
+     * within the run in the low half, so they sort by value
+     */
+    private long[] run = new long[4096];
+    private int runLength = 0;
+    /** The first line of the run, from 0 */
+    private long runStart = 0;
+    /** Runs already written, or null if there are none yet */
+    private File runFile = null;
+    private RandomAccessFile runs = null;
+    /** Number of entries in each run written */
+    private final List<Integer> runLengths = new ArrayList<Integer>();
+
+    /* Writing the sorted section */
+    private ByteBuffer sortedValues;
+    private ByteBuffer sortedLines;
+    private long sortedValuesPosition;
+    private long sortedLinesPosition;
+    /** Minimum and maximum of each block of sorted values */
+    private int[] sortedBlocks;
+    private long written;
+
+    /**
+     * Creates (or replaces) an index file.
+     *
+     * @param file where to write the index
+     * @throws IOException if it cannot be created
+     */
+    ValueIndexWriter(File file) throws IOException {
+        this(file, RUN_LINES);
+    }
+
+    /**
+     * Separated for testing.
+     *
+     * @param runLines how many lines to sort at once
+     */
+    ValueIndexWriter(File file, int runLines) throws IOException {
+        assert (runLines > 0) : "Runs cannot be empty";
+        this.file = file;
+        this.runLines = runLines;
+        raf = new RandomAccessFile(file, "rw");
+        raf.setLength(0);
+        channel = raf.getChannel();
+        // The header is written last, once the counts are known
+        channel.position(ValueIndex.HEADER_SIZE);
+    }
+
+    /**
+     * Records the value of the next line.
+     *
+     * @param value the line's value, or {@link ValueIndex#NO_VALUE}
+     *        if it could not be parsed
+     */
+    void add(int value) throws IOException {
+        int block = (int) (lineCount / ValueIndex.BLOCK_LINES);
+        if (lineCount % ValueIndex.BLOCK_LINES == 0){
+            startBlock(block);
+        }
+        if (lineCount - runStart == runLines){
+            writeRun();
+        }
+        if (value != ValueIndex.NO_VALUE){
+            blockMin[block] = Math.min(blockMin[block], value);
+            blockMax[block] = Math.max(blockMax[block], value);
+            if (runLength == run.length){
+                run = Arrays.copyOf(run, runLength * 2);
+            }
+            run[runLength++] = ((long) value << 32) | (lineCount - runStart);
+            sortedCount++;
+        }
+
+        if (!buffer.hasRemaining()){
+            flush();
+        }
+        buffer.putInt(value);
+        lineCount++;
+    }
+
+    /**
+     * Writes the block index, the sorted values and
+     * the header, and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    void close() throws IOException {
+        try {
+            flush();
+
+            int blocks = (int) ((lineCount + ValueIndex.BLOCK_LINES - 1) / ValueIndex.BLOCK_LINES);
+            long blockIndexOffset = ValueIndex.HEADER_SIZE + lineCount * 4;
+            for (int i = 0; i < blocks; i++){
+                if (buffer.remaining() < 8){
+                    flush();
+                }
+                buffer.putInt(blockMin[i]);
+                buffer.putInt(blockMax[i]);
+            }
+            flush();
+
+            long sortedOffset = blockIndexOffset + blocks * 8L;
+            writeSorted(sortedOffset);
+
+            ByteBuffer header = ByteBuffer.allocate(ValueIndex.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putLong(ValueIndex.MAGIC);
+            header.putInt(ValueIndex.VERSION);
+            header.putInt(ValueIndex.BLOCK_LINES);
+            header.putLong(lineCount);
+            header.putLong(blocks);
+            header.putLong(blockIndexOffset);
+            header.putLong(sortedCount);
+            header.putLong(sortedOffset);
+            header.rewind();
+            long position = 0;
+            while (header.hasRemaining()){
+                position += channel.write(header, position);
+            }
+            channel.force(false);
+        } finally {
+            raf.close();
+            deleteRuns();
+        }
+    }
+
+    /**
+     * Closes and deletes the file, without finishing
+     * it, when the input could not all be read: an
+     * index of part of it would look like one of all
+     * of it.
+     */
+    void abort(){
+        try {
+            raf.close();
+        } catch (IOException e){
+            // It is deleted anyway
+        }
+        file.delete();
+        deleteRuns();
+    }
+
+    /** Closes and deletes the run file, if there is one */
+    private void deleteRuns(){
+        if (runs != null){
+            try {
+                runs.close();
+            } catch (IOException e){
+                // It is deleted anyway
+            }
+            runFile.delete();
+        }
+    }
+
+    /** Starts a block with no values */
+    private void startBlock(int block){
+        if (block == blockMin.length){
+            blockMin = Arrays.copyOf(blockMin, block * 2);
+            blockMax = Arrays.copyOf(blockMax, block * 2);
+        }
+        blockMin[block] = Integer.MAX_VALUE;
+        blockMax[block] = Integer.MIN_VALUE;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /*
+     * Sorting
+     */
+
+    /** Sorts the run being recorded, writes it to the run file, and starts the next */
+    private void writeRun() throws IOException {
+        if (runs == null){
+            runFile = File.createTempFile(file.getName(), ".runs", file.getAbsoluteFile().getParentFile());
+            runs = new RandomAccessFile(runFile, "rw");
+        }
+        Arrays.sort(run, 0, runLength);
+        FileChannel out = runs.getChannel();
+        ByteBuffer entries = ByteBuffer.allocate(4096 * RUN_ENTRY).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < runLength; i++){
+            if (!entries.hasRemaining()){
+                write(out, entries);
+            }
+            entries.putInt((int) (run[i] >> 32));
+            entries.putLong(runStart + (int) run[i]);
+        }
+        write(out, entries);
+        runLengths.add(runLength);
+        runLength = 0;
+        runStart = lineCount;
+    }
+
+    /**
+     * Writes the lines with values, sorted by value
+     * (and then by line): their values, their line
+     * numbers, and the minimum and maximum of each
+     * block of values.
+     */
+    private void writeSorted(long offset) throws IOException {
+        int blocks = (int) ((sortedCount + ValueIndex.BLOCK_LINES - 1) / ValueIndex.BLOCK_LINES);
+        sortedValues = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        sortedLines = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        sortedValuesPosition = offset;
+        sortedLinesPosition = offset + sortedCount * 4;
+        sortedBlocks = new int[2 * blocks];
+        written = 0;
+
+        if (runs == null){
+            // Only one run, still in memory
+            Arrays.sort(run, 0, runLength);
+            for (int i = 0; i < runLength; i++){
+                emit((int) (run[i] >> 32), runStart + (int) run[i]);
+            }
+        } else {
+            if (runLength > 0){
+                writeRun();
+            }
+            merge();
+        }
+        writeAt(sortedValues, sortedValuesPosition);
+        writeAt(sortedLines, sortedLinesPosition);
+
+        ByteBuffer minMax = ByteBuffer.allocate(blocks * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (int bound : sortedBlocks){
+            minMax.putInt(bound);
+        }
+        writeAt(minMax, offset + sortedCount * (4 + 8));
+    }
+
+    /** Merges the runs in the run file into the sorted section */
+    private void merge() throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<Run>();
+        long position = 0;
+        for (int length : runLengths){
+            Run next = new Run(runs.getChannel(), position, length);
+            position += (long) length * RUN_ENTRY;
+            if (next.advance()){
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()){
+            Run next = queue.poll();
+            emit(next.value, next.line);
+            if (next.advance()){
+                queue.add(next);
+            }
+        }
+    }
+
+    /** Writes the next line of the sorted section */
+    private void emit(int value, long line) throws IOException {
+        if (!sortedValues.hasRemaining()){
+            sortedValuesPosition = writeAt(sortedValues, sortedValuesPosition);
+        }
+        if (!sortedLines.hasRemaining()){
+            sortedLinesPosition = writeAt(sortedLines, sortedLinesPosition);
+        }
+        sortedValues.putInt(value);
+        sortedLines.putLong(line + 1);
+
+        int block = (int) (written / ValueIndex.BLOCK_LINES);
+        if (written % ValueIndex.BLOCK_LINES == 0){
+            sortedBlocks[2 * block] = value;
+        }
+        sortedBlocks[2 * block + 1] = value;
+        written++;
+    }
+
+    /**
+     * Writes out a buffer at a position in the index.
+     *
+     * @return the position after it
+     */
+    private long writeAt(ByteBuffer bytes, long position) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()){
+            position += channel.write(bytes, position);
+        }
+        bytes.clear();
+        return position;
+    }
+
+    private static void write(FileChannel out, ByteBuffer bytes) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()){
+            out.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /** Reads a sorted run back from the run file */
+    private static final class Run implements Comparable<Run> {
+        private final FileChannel in;
+        private final ByteBuffer entries = ByteBuffer.allocate(1024 * RUN_ENTRY).order(ByteOrder.LITTLE_ENDIAN);
+        /** Where the rest of the run is in the file */
+        private long position;
+        private long left;
+
+        /** The current entry */
+        int value;
+        long line;
+
+        Run(FileChannel in, long position, int length){
+            this.in = in;
+            this.position = position;
+            this.left = length;
+            entries.limit(0);
+        }
+
+        /**
+         * Moves on to the next entry.
+         *
+         * @return false if there are no more
+         */
+        boolean advance() throws IOException {
+            if (!entries.hasRemaining()){
+                if (left == 0){
+                    return false;
+                }
+                entries.clear();
+                entries.limit((int) Math.min(entries.capacity(), left * RUN_ENTRY));
+                while (entries.hasRemaining()){
+                    int read = in.read(entries, position);
+                    if (read < 0){
+                        throw new IOException("Sorted run is truncated");
+                    }
+                    position += read;
+                }
+                entries.flip();
+                left -= entries.remaining() / RUN_ENTRY;
+            }
+            value = entries.getInt();
+            line = entries.getLong();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Run other){
+            if (value != other.value){
+                return (value < other.value) ? -1 : 1;
+            }
+            return (line < other.line) ? -1 : (line > other.line) ? 1 : 0;
+        }
+    }
+}